@@ -0,0 +1,326 @@
+package com.piinalpin.customsoftdeletes.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a catalogue and checkout traffic mix against a running instance and reports throughput and
+ * p50/p99/p999 latency per endpoint. Runs with the JDK only:
+ *
+ * <pre>
+ * java loadtest/src/main/java/com/piinalpin/customsoftdeletes/loadtest/LoadGenerator.java \
+ *     --base-url=http://localhost:8080/api --authors=20 --books=500 --threads=16 --duration=60 \
+ *     --mix=list=20,detail=40,search=10,create=10,update=10,delete=5,checkout=5
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String[] WORDS = {"java", "spring", "data", "cloud", "design", "pattern", "clean", "code",
+            "domain", "driven", "reactive", "systems", "guide", "effective", "modern", "practical"};
+
+    enum Operation {
+        LIST("GET /book"),
+        DETAIL("GET /book/detail/{id}"),
+        SEARCH("GET /book/search"),
+        CREATE("POST /book"),
+        UPDATE("POST /book/{id}"),
+        DELETE("DELETE /book/{id}"),
+        CHECKOUT("POST /transaction");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private final String baseUrl;
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> bookIds = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong titleSequence = new AtomicLong();
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080/api");
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unknown argument: " + arg);
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        int threads = Integer.parseInt(option("threads", "16"));
+        long warmupMillis = Long.parseLong(option("warmup", "10")) * 1000;
+        long durationMillis = Long.parseLong(option("duration", "60")) * 1000;
+        Map<Operation, Integer> mix = parseMix(option("mix", "list=20,detail=40,search=10,create=10,update=10,delete=5,checkout=5"));
+
+        seed(Integer.parseInt(option("authors", "20")), Integer.parseInt(option("books", "500")));
+        System.out.printf("Seeded %d authors and %d books, warming up for %ds%n",
+                authorIds.size(), bookIds.size(), warmupMillis / 1000);
+
+        drive(threads, warmupMillis, mix, new Recorder[threads]);
+
+        Recorder[] recorders = new Recorder[threads];
+        long started = System.nanoTime();
+        drive(threads, durationMillis, mix, recorders);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        report(recorders, seconds);
+    }
+
+    private void seed(int authors, int books) throws Exception {
+        for (int i = 0; i < authors; i++) {
+            String body = send("POST", "/author", "{\"full_name\":\"Author " + runId + "-" + i + "\"}").body();
+            authorIds.add(parseId(body));
+        }
+        for (int i = 0; i < books; i++) bookIds.add(parseId(send("POST", "/book", bookJson()).body()));
+    }
+
+    private void drive(int threads, long millis, Map<Operation, Integer> mix, Recorder[] recorders) throws InterruptedException {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        Operation[] wheel = wheel(mix);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Recorder recorder = new Recorder();
+            recorders[t] = recorder;
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = execute(operation);
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        recorder.record(operation, System.nanoTime() - start, ok);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+    }
+
+    private boolean execute(Operation operation) throws Exception {
+        switch (operation) {
+            case LIST:
+                return ok(send("GET", "/book", null));
+            case DETAIL:
+                return ok(send("GET", "/book/detail/" + randomBook(), null));
+            case SEARCH:
+                return ok(send("GET", "/book/search?q=" + word() + "&size=20", null));
+            case CREATE: {
+                HttpResponse<String> response = send("POST", "/book", bookJson());
+                if (ok(response)) addBook(parseId(response.body()));
+                return ok(response);
+            }
+            case UPDATE:
+                return ok(send("POST", "/book/" + randomBook(), "{\"price\":" + price() + "}"));
+            case DELETE: {
+                Long id = takeBook();
+                return id != null && ok(send("DELETE", "/book/" + id, null));
+            }
+            case CHECKOUT:
+                return ok(send("POST", "/transaction", checkoutJson()));
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static long parseId(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) throw new IllegalStateException("No id in response: " + body);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String bookJson() {
+        long authorId;
+        synchronized (authorIds) {
+            authorId = authorIds.get(ThreadLocalRandom.current().nextInt(authorIds.size()));
+        }
+        return "{\"author_id\":" + authorId + ",\"title\":\"" + word() + " " + word() + " " + word() + " " + titleSequence.incrementAndGet() + "\"" +
+                ",\"price\":" + price() + ",\"page\":" + ThreadLocalRandom.current().nextInt(50, 900) +
+                ",\"weight\":" + ThreadLocalRandom.current().nextInt(100, 2000) + "}";
+    }
+
+    private String checkoutJson() {
+        int lines = ThreadLocalRandom.current().nextInt(1, 6);
+        StringBuilder json = new StringBuilder("{\"customer_name\":\"Customer ")
+                .append(ThreadLocalRandom.current().nextInt(10_000)).append("\",\"details\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"book_id\":").append(randomBook())
+                    .append(",\"qty\":").append(ThreadLocalRandom.current().nextInt(1, 4)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private long randomBook() {
+        synchronized (bookIds) {
+            return bookIds.isEmpty() ? 0 : bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+        }
+    }
+
+    private Long takeBook() {
+        synchronized (bookIds) {
+            if (bookIds.isEmpty()) return null;
+            int index = ThreadLocalRandom.current().nextInt(bookIds.size());
+            Long id = bookIds.get(index);
+            bookIds.set(index, bookIds.get(bookIds.size() - 1));
+            bookIds.remove(bookIds.size() - 1);
+            return id;
+        }
+    }
+
+    private void addBook(long id) {
+        synchronized (bookIds) {
+            bookIds.add(id);
+        }
+    }
+
+    private static String word() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+    private static int price() {
+        return ThreadLocalRandom.current().nextInt(10, 200) * 1000;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Operation[] wheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) wheel.add(operation);
+        });
+        if (wheel.isEmpty()) throw new IllegalArgumentException("Traffic mix is empty");
+        return wheel.toArray(new Operation[0]);
+    }
+
+    private static void report(Recorder[] recorders, double seconds) {
+        System.out.printf("%n%-24s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            LatencySeries merged = new LatencySeries();
+            long errors = 0;
+            for (Recorder recorder : recorders) {
+                merged.addAll(recorder.series.get(operation));
+                errors += recorder.errors[operation.ordinal()];
+            }
+            if (merged.size == 0) continue;
+            long[] sorted = merged.sorted();
+            total += sorted.length;
+            System.out.printf("%-24s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", operation.label, sorted.length, errors,
+                    sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[sorted.length - 1] / 1e6);
+        }
+        System.out.printf("%ntotal %d requests in %.1fs, %.1f req/s%n", total, seconds, total / seconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    /**
+     * Per-thread latency samples, merged once at the end so recording never contends.
+     */
+    private static final class Recorder {
+
+        private final Map<Operation, LatencySeries> series = new EnumMap<>(Operation.class);
+        private final long[] errors = new long[Operation.values().length];
+
+        Recorder() {
+            for (Operation operation : Operation.values()) series.put(operation, new LatencySeries());
+        }
+
+        void record(Operation operation, long nanos, boolean ok) {
+            series.get(operation).add(nanos);
+            if (!ok) errors[operation.ordinal()]++;
+        }
+
+    }
+
+    private static final class LatencySeries {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(LatencySeries other) {
+            for (int i = 0; i < other.size; i++) add(other.values[i]);
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+    }
+
+}
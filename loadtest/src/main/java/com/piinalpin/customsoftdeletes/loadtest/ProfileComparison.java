@@ -0,0 +1,156 @@
+package com.piinalpin.customsoftdeletes.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the packaged application once per profile set, replays the same {@link LoadGenerator} mix against it and
+ * keeps the load report together with the {@code /actuator/persistence} snapshot taken right after the run, so the
+ * pool and Hibernate settings of a profile can be judged against the default. Runs with the JDK only:
+ *
+ * <pre>
+ * ./mvnw -DskipTests package
+ * java loadtest/src/main/java/com/piinalpin/customsoftdeletes/loadtest/ProfileComparison.java \
+ *     --jar=target/custom-soft-deletes-0.0.1-SNAPSHOT.jar --profiles=default,perf --out=loadtest/results \
+ *     --threads=16 --duration=60
+ * </pre>
+ *
+ * Every option other than {@code jar}, {@code generator}, {@code profiles}, {@code port}, {@code timeout} and
+ * {@code out} is passed on to the load generator. Hibernate statistics are switched on for every profile, so all
+ * runs pay the same overhead and report statements per session.
+ */
+public class ProfileComparison {
+
+    private static final List<String> OWN_OPTIONS = Arrays.asList("jar", "generator", "profiles", "port", "timeout", "out");
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+
+    ProfileComparison(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(200))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unknown argument: " + arg);
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        new ProfileComparison(options).run();
+    }
+
+    void run() throws Exception {
+        Path jar = Paths.get(option("jar", "target/custom-soft-deletes-0.0.1-SNAPSHOT.jar"));
+        if (!Files.isRegularFile(jar)) throw new IllegalArgumentException("Application jar not found: " + jar);
+        int port = Integer.parseInt(option("port", "18080"));
+        long timeoutMillis = Long.parseLong(option("timeout", "120")) * 1000;
+        Path out = Files.createDirectories(Paths.get(option("out", "loadtest/results")));
+
+        for (String profiles : option("profiles", "default,perf").split(",")) {
+            Path report = out.resolve(profiles.replace('+', '-') + ".txt");
+            System.out.printf("Running profiles %s, report goes to %s%n", profiles, report);
+            Process application = start(jar, profiles.replace('+', ','), port);
+            try {
+                awaitReady(application, port, timeoutMillis, profiles);
+                List<String> lines = new ArrayList<>();
+                lines.add("profiles: " + profiles);
+                lines.addAll(load(port));
+                lines.add("");
+                lines.add("persistence: " + get(port, "/api/actuator/persistence"));
+                Files.write(report, lines, StandardCharsets.UTF_8);
+                lines.forEach(System.out::println);
+            } finally {
+                application.destroy();
+                if (!application.waitFor(10, TimeUnit.SECONDS)) application.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private Process start(Path jar, String profiles, int port) throws IOException {
+        List<String> command = new ArrayList<>(Arrays.asList(javaBinary(), "-jar", jar.toString(),
+                "--server.port=" + port, "--spring.profiles.active=" + profiles,
+                "--app.telemetry.hibernate-statistics=true"));
+        return new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private void awaitReady(Process application, int port, long timeoutMillis, String profiles) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive())
+                throw new IllegalStateException("Application exited with " + application.exitValue() + " for profiles " + profiles);
+            try {
+                get(port, "/api/book");
+                return;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("No successful request within " + timeoutMillis + " ms for profiles " + profiles);
+    }
+
+    /**
+     * Runs the load generator from source in a child JVM and returns its output.
+     */
+    private List<String> load(int port) throws Exception {
+        Path source = Paths.get(option("generator", "loadtest/src/main/java/com/piinalpin/customsoftdeletes/loadtest/LoadGenerator.java"));
+        if (!Files.isRegularFile(source)) throw new IllegalArgumentException("Load generator source not found: " + source);
+
+        List<String> command = new ArrayList<>(Arrays.asList(javaBinary(), source.toString(),
+                "--base-url=http://localhost:" + port + "/api"));
+        options.forEach((name, value) -> {
+            if (!OWN_OPTIONS.contains(name)) command.add("--" + name + "=" + value);
+        });
+        Process generator = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(generator.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(lines::add);
+        }
+        if (generator.waitFor() != 0) throw new IllegalStateException("Load generator failed:\n" + String.join("\n", lines));
+        return lines;
+    }
+
+    private String get(int port, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) throw new IOException("GET " + path + " answered " + response.statusCode());
+        return response.body();
+    }
+
+    private static String javaBinary() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.piinalpin.customsoftdeletes.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the packaged application repeatedly per profile set and reports time-to-first-request, measured from
+ * process launch until {@code GET /book} answers 2xx. Runs with the JDK only:
+ *
+ * <pre>
+ * ./mvnw -DskipTests package
+ * java loadtest/src/main/java/com/piinalpin/customsoftdeletes/loadtest/StartupBenchmark.java \
+ *     --jar=target/custom-soft-deletes-0.0.1-SNAPSHOT.jar --profiles=default,perf,perf+fast --runs=5
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+
+    StartupBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(200))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unknown argument: " + arg);
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        new StartupBenchmark(options).run();
+    }
+
+    void run() throws Exception {
+        Path jar = Paths.get(option("jar", "target/custom-soft-deletes-0.0.1-SNAPSHOT.jar"));
+        if (!Files.isRegularFile(jar)) throw new IllegalArgumentException("Application jar not found: " + jar);
+        int runs = Integer.parseInt(option("runs", "5"));
+        int port = Integer.parseInt(option("port", "18080"));
+        long timeoutMillis = Long.parseLong(option("timeout", "120")) * 1000;
+
+        System.out.printf(Locale.ROOT, "%-16s %6s %10s %10s %10s%n", "profiles", "runs", "min ms", "median ms", "max ms");
+        for (String profiles : option("profiles", "default,perf+fast").split(",")) {
+            List<Long> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) samples.add(timeToFirstRequest(jar, profiles.replace('+', ','), port, timeoutMillis));
+            Collections.sort(samples);
+            System.out.printf(Locale.ROOT, "%-16s %6d %10d %10d %10d%n", profiles, runs,
+                    samples.get(0), samples.get(samples.size() / 2), samples.get(samples.size() - 1));
+        }
+    }
+
+    private long timeToFirstRequest(Path jar, String profiles, int port, long timeoutMillis) throws Exception {
+        List<String> command = new ArrayList<>(Arrays.asList(javaBinary(), "-jar", jar.toString(),
+                "--server.port=" + port, "--spring.profiles.active=" + profiles));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/book"))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive())
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " for profiles " + profiles);
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful request within " + timeoutMillis + " ms for profiles " + profiles);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static String javaBinary() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.piinalpin.customsoftdeletes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.piinalpin.customsoftdeletes.entity.BookCatalogue;
+import com.piinalpin.customsoftdeletes.http.dto.base.BaseResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the same envelope through the reflective bean serializer the response used to rely on,
+ * and through {@link com.piinalpin.customsoftdeletes.http.dto.base.BaseResponseSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BaseResponseSerializerBenchmark {
+
+    @Param({"1", "50"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ReflectiveResponse<Object> reflective;
+    private BaseResponse<Object> preEncoded;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Object data = rows == 1 ? catalogue(0) : catalogue(rows);
+        LocalDateTime timestamp = LocalDateTime.of(2022, 3, 1, 12, 0);
+        AppConstant.ResponseCode responseCode = AppConstant.ResponseCode.SUCCESS;
+
+        reflective = new ReflectiveResponse<>(timestamp, responseCode.name(), responseCode.getMessage(), data);
+        preEncoded = BaseResponse.builder()
+                .timestamp(timestamp)
+                .responseCode(responseCode)
+                .message(responseCode.getMessage())
+                .data(data)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] reflectiveEnvelope() throws Exception {
+        return objectMapper.writeValueAsBytes(reflective);
+    }
+
+    @Benchmark
+    public byte[] preEncodedEnvelope() throws Exception {
+        return objectMapper.writeValueAsBytes(preEncoded);
+    }
+
+    private static Object catalogue(int size) {
+        if (size == 0) return book(1L);
+        List<BookCatalogue> books = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) books.add(book(i));
+        return books;
+    }
+
+    private static BookCatalogue book(long id) {
+        return BookCatalogue.builder()
+                .bookId(id)
+                .tenantId(AppConstant.DEFAULT_TENANT)
+                .title("Book " + id)
+                .price(100_000)
+                .authorId(id % 10)
+                .authorName("Author " + id % 10)
+                .page(320)
+                .weight(450)
+                .build();
+    }
+
+    /**
+     * The envelope as it was serialized before the custom serializer, resolved through bean introspection.
+     */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class ReflectiveResponse<T> {
+
+        private final LocalDateTime timestamp;
+        private final String responseCode;
+        private final String message;
+        private final T data;
+
+        ReflectiveResponse(LocalDateTime timestamp, String responseCode, String message, T data) {
+            this.timestamp = timestamp;
+            this.responseCode = responseCode;
+            this.message = message;
+            this.data = data;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public String getResponseCode() {
+            return responseCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public T getData() {
+            return data;
+        }
+
+    }
+
+}
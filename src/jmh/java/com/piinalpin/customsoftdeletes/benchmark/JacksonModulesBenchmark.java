@@ -0,0 +1,80 @@
+package com.piinalpin.customsoftdeletes.benchmark;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.piinalpin.customsoftdeletes.entity.Author;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of books with and without the modules registered by
+ * {@link com.piinalpin.customsoftdeletes.config.JacksonConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JacksonModulesBenchmark {
+
+    @Param({"none", "blackbird", "blackbird+hibernate5"})
+    private String modules;
+
+    @Param({"50", "10000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+
+    @Setup
+    public void setUp() {
+        List<Module> installed = new ArrayList<>();
+        if (modules.contains("blackbird")) installed.add(new BlackbirdModule());
+        if (modules.contains("hibernate5")) {
+            Hibernate5Module hibernate5Module = new Hibernate5Module();
+            hibernate5Module.disable(Hibernate5Module.Feature.FORCE_LAZY_LOADING);
+            installed.add(hibernate5Module);
+        }
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(installed.toArray(new Module[0]))
+                .build();
+
+        LocalDateTime createdAt = LocalDateTime.of(2022, 3, 1, 12, 0);
+        books = new ArrayList<>(rows);
+        for (long i = 1; i <= rows; i++) {
+            Author author = Author.builder()
+                    .id(i % 10)
+                    .fullName("Author " + i % 10)
+                    .createdAt(createdAt)
+                    .createdBy("SYSTEM")
+                    .build();
+            books.add(Book.builder()
+                    .id(i)
+                    .author(author)
+                    .title("Book " + i)
+                    .price(100_000)
+                    .createdAt(createdAt)
+                    .createdBy("SYSTEM")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() throws Exception {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.piinalpin.customsoftdeletes.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint admission control for write requests. A request is rejected immediately, never queued, with
+ * {@code 429} when the endpoint's token bucket is empty or {@code 503} when its adaptive concurrency limit is reached.
+ */
+@Slf4j
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+    private final ObjectMapper objectMapper;
+    private final Map<Method, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Method, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int initialConcurrency;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long targetLatencyNanos;
+
+    @Autowired
+    public AdmissionInterceptor(ObjectMapper objectMapper,
+                                @Value("${app.admission.permits-per-second:200}") double permitsPerSecond,
+                                @Value("${app.admission.burst:50}") int burst,
+                                @Value("${app.admission.initial-concurrency:8}") int initialConcurrency,
+                                @Value("${app.admission.min-concurrency:2}") int minConcurrency,
+                                @Value("${app.admission.max-concurrency:32}") int maxConcurrency,
+                                @Value("${app.admission.target-latency-ms:50}") long targetLatencyMs) {
+        this.objectMapper = objectMapper;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.initialConcurrency = initialConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod) || !WRITE_METHODS.contains(request.getMethod())) return true;
+        Method endpoint = ((HandlerMethod) handler).getMethod();
+
+        long waitNanos = buckets.computeIfAbsent(endpoint, k -> new TokenBucket(permitsPerSecond, burst)).tryAcquire();
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, AppConstant.ResponseCode.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            return false;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(endpoint,
+                k -> new AdaptiveConcurrencyLimiter(initialConcurrency, minConcurrency, maxConcurrency, targetLatencyNanos));
+        if (!limiter.tryAcquire()) {
+            log.warn("Concurrency limit {} reached for {}", limiter.getLimit(), endpoint.getName());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, AppConstant.ResponseCode.SERVICE_BUSY, 1);
+            return false;
+        }
+
+        RepositoryLatency.reset();
+        request.setAttribute(ADMITTED, limiter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object limiter = request.getAttribute(ADMITTED);
+        if (limiter == null) return;
+        request.removeAttribute(ADMITTED);
+        boolean success = ex == null && response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        ((AdaptiveConcurrencyLimiter) limiter).release(RepositoryLatency.elapsedNanos(), success);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, AppConstant.ResponseCode responseCode,
+                        long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ResponseUtil.build(responseCode, null, status).getBody());
+    }
+
+}
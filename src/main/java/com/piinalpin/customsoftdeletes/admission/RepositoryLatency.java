@@ -0,0 +1,37 @@
+package com.piinalpin.customsoftdeletes.admission;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Accumulates the time the current thread spends inside repository calls, so admission control can react
+ * to database latency rather than to time spent queueing or serializing.
+ */
+public class RepositoryLatency implements MethodInterceptor {
+
+    private static final ThreadLocal<long[]> ELAPSED = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long[] elapsed = ELAPSED.get();
+        boolean outermost = elapsed[1]++ == 0;
+        long start = outermost ? System.nanoTime() : 0;
+        try {
+            return invocation.proceed();
+        } finally {
+            elapsed[1]--;
+            if (outermost) elapsed[0] += System.nanoTime() - start;
+        }
+    }
+
+    public static void reset() {
+        long[] elapsed = ELAPSED.get();
+        elapsed[0] = 0;
+        elapsed[1] = 0;
+    }
+
+    public static long elapsedNanos() {
+        return ELAPSED.get()[0];
+    }
+
+}
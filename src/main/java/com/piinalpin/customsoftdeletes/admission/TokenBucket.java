@@ -0,0 +1,33 @@
+package com.piinalpin.customsoftdeletes.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: a single theoretical arrival time is advanced with CAS,
+ * so acquiring a token is one atomic update and nothing is refilled in the background.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(burst, 1);
+    }
+
+    /**
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            if (next - now > burstNanos) return next - now - burstNanos;
+            if (theoreticalArrival.compareAndSet(tat, next)) return 0;
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+public enum AuditAction {
+
+    INSERT,
+    UPDATE,
+    SOFT_DELETE,
+    RESTORE,
+    HARD_DELETE,
+    ARCHIVE
+
+}
@@ -0,0 +1,47 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA callbacks for changes that go through the persistence context. Bulk {@code UPDATE}s such as soft delete
+ * and restore bypass these callbacks and are recorded by the soft deletes repository instead.
+ */
+public class AuditEntityListener {
+
+    private final AuditTrail auditTrail;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Autowired
+    public AuditEntityListener(AuditTrail auditTrail, ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.auditTrail = auditTrail;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostPersist
+    void onInsert(Object entity) {
+        record(AuditAction.INSERT, entity);
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        record(AuditAction.UPDATE, entity);
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        record(AuditAction.HARD_DELETE, entity);
+    }
+
+    private void record(AuditAction action, Object entity) {
+        Object id = entityManagerFactory.getObject().getPersistenceUnitUtil().getIdentifier(entity);
+        auditTrail.record(action, Hibernate.getClass(entity), id);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class AuditEvent {
+
+    AuditAction action;
+
+    String entityName;
+
+    String entityId;
+
+    String actor;
+
+    LocalDateTime occurredAt;
+
+}
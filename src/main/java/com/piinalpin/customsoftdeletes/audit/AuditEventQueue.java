@@ -0,0 +1,55 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free hand-off between request threads and the {@link AuditWriter}. Producers never block,
+ * when the queue is full the event is dropped and counted instead of slowing down the request.
+ */
+public class AuditEventQueue {
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int capacity;
+
+    public AuditEventQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean offer(AuditEvent event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        queue.offer(event);
+        return true;
+    }
+
+    public int drainTo(List<AuditEvent> target, int maxElements) {
+        int drained = 0;
+        AuditEvent event;
+        while (drained < maxElements && (event = queue.poll()) != null) {
+            target.add(event);
+            drained++;
+        }
+        if (drained > 0) size.addAndGet(-drained);
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+}
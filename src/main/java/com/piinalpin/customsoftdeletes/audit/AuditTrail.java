@@ -0,0 +1,49 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Entry point for recording entity lifecycle events. Recording only enqueues the event,
+ * the {@link AuditWriter} persists it asynchronously in batches. Inside a transaction the event is
+ * enqueued once it commits, so rolled back writes leave no audit rows.
+ */
+@Slf4j
+@Component
+public class AuditTrail {
+
+    private final AuditEventQueue queue;
+    private final AppClock appClock;
+
+    @Autowired
+    public AuditTrail(AppClock appClock, @Value("${app.audit.queue-capacity:65536}") int queueCapacity) {
+        this.appClock = appClock;
+        this.queue = new AuditEventQueue(queueCapacity);
+    }
+
+    public void record(AuditAction action, Class<?> entityClass, Object entityId) {
+        AuditEvent event = AuditEvent.builder()
+                .action(action)
+                .entityName(entityClass.getSimpleName())
+                .entityId(Objects.toString(entityId, null))
+                .actor(AuditorContext.currentAuditor())
+                .occurredAt(appClock.nowUtc())
+                .build();
+        TransactionUtil.afterCommit(() -> enqueue(event));
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!queue.offer(event)) log.warn("Audit queue is full, dropped event: {}", event);
+    }
+
+    AuditEventQueue getQueue() {
+        return queue;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer that drains the {@link AuditEventQueue} and batch-inserts events into {@code T_AUDIT_LOG}.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class AuditWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO T_AUDIT_LOG (action, entity_name, entity_id, actor, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final AuditEventQueue queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "audit-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public AuditWriter(AuditTrail auditTrail, JdbcTemplate jdbcTemplate,
+                       @Value("${app.audit.batch-size:500}") int batchSize,
+                       @Value("${app.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.queue = auditTrail.getQueue();
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(flushIntervalMs * 5, TimeUnit.MILLISECONDS);
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to write audit events. Error: {}", e.getMessage());
+        }
+    }
+
+    synchronized void flush() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.getAction().name());
+                ps.setString(2, event.getEntityName());
+                ps.setString(3, event.getEntityId());
+                ps.setString(4, event.getActor());
+                ps.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+            });
+            log.debug("Flushed {} audit events", batch.size());
+            batch.clear();
+        }
+    }
+
+}
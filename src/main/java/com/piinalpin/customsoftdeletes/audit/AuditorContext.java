@@ -0,0 +1,28 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+
+/**
+ * Holds the acting user of the current request thread. Falls back to {@link AppConstant#DEFAULT_SYSTEM}
+ * for work that does not originate from an HTTP request.
+ */
+public class AuditorContext {
+
+    private static final ThreadLocal<String> CURRENT_AUDITOR = new ThreadLocal<>();
+
+    private AuditorContext() {}
+
+    public static String currentAuditor() {
+        String auditor = CURRENT_AUDITOR.get();
+        return auditor == null ? AppConstant.DEFAULT_SYSTEM : auditor;
+    }
+
+    public static void setCurrentAuditor(String auditor) {
+        CURRENT_AUDITOR.set(auditor);
+    }
+
+    public static void clear() {
+        CURRENT_AUDITOR.remove();
+    }
+
+}
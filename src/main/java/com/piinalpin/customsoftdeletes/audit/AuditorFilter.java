@@ -0,0 +1,67 @@
+package com.piinalpin.customsoftdeletes.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Resolves the auditor of the request. An authenticated principal always wins over {@code X-Auditor}, otherwise the
+ * unauthenticated header is only accepted for names listed in {@code app.audit.allowed-auditors} and rejected with
+ * {@code 403} for any other value.
+ */
+@Slf4j
+@Component
+public class AuditorFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> allowedAuditors;
+
+    @Autowired
+    public AuditorFilter(ObjectMapper objectMapper,
+                         @Value("${app.audit.allowed-auditors:}") Set<String> allowedAuditors) {
+        this.objectMapper = objectMapper;
+        this.allowedAuditors = allowedAuditors;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Principal principal = request.getUserPrincipal();
+        String auditor = request.getHeader(AppConstant.AUDITOR_HEADER);
+        if (principal != null) {
+            AuditorContext.setCurrentAuditor(principal.getName());
+        } else if (StringUtils.hasText(auditor)) {
+            if (!allowedAuditors.contains(auditor.trim())) {
+                log.warn("Rejected request for unknown auditor: {}", auditor);
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(),
+                        ResponseUtil.build(AppConstant.ResponseCode.ACCESS_DENIED, null, HttpStatus.FORBIDDEN).getBody());
+                return;
+            }
+            AuditorContext.setCurrentAuditor(auditor.trim());
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuditorContext.clear();
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.piinalpin.customsoftdeletes.catalogue;
+
+import com.piinalpin.customsoftdeletes.entity.Author;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.entity.BookCatalogue;
+import com.piinalpin.customsoftdeletes.entity.BookDetail;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Keeps {@link BookCatalogue} in step with books, their details and authors. Changes are applied inside the
+ * transaction of the repository write, so the read model commits or rolls back together with the source rows.
+ *
+ * <p>The full rebuild runs as a lifecycle phase ahead of the web server, so no request can project into the table
+ * while it is cleared and refilled.
+ */
+@Slf4j
+@Component
+public class CatalogueProjector implements SoftDeletesListener, SmartLifecycle {
+
+    /**
+     * Ahead of the embedded web server, which starts accepting requests in phase {@code Integer.MAX_VALUE - 1}.
+     */
+    private static final int REBUILD_PHASE = 0;
+
+    private static final String CLEAR_JPQL = "DELETE FROM BookCatalogue";
+    private static final String REBUILD_JPQL = "INSERT INTO BookCatalogue (bookId, tenantId, title, price, authorId, " +
+            "authorName, page, weight) " +
+            "SELECT b.id, b.tenantId, b.title, b.price, a.id, a.fullName, d.page, d.weight " +
+            "FROM Book b JOIN b.author a LEFT JOIN b.detail d WHERE b.deletedAt IS NULL";
+    private static final String REMOVE_JPQL = "DELETE FROM BookCatalogue c WHERE c.bookId = :bookId";
+    private static final String RENAME_AUTHOR_JPQL = "UPDATE BookCatalogue c SET c.authorName = :authorName " +
+            "WHERE c.authorId = :authorId";
+    private static final String BOOKS_OF_DETAIL_JPQL = "SELECT b FROM Book b WHERE b.detail.bookId = :detailId " +
+            "AND b.deletedAt IS NULL";
+
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    public CatalogueProjector(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return REBUILD_PHASE;
+    }
+
+    /**
+     * Rebuilds the read model from the source tables of every tenant.
+     */
+    public void rebuild() {
+        int rows = transactionTemplate.execute(status -> {
+            em.createQuery(CLEAR_JPQL).executeUpdate();
+            return em.createQuery(REBUILD_JPQL).executeUpdate();
+        });
+        log.info("Rebuilt book catalogue with {} rows", rows);
+    }
+
+    @Override
+    public void afterSave(Class<?> domainClass, Object id, Object entity) {
+        if (domainClass == Book.class) project((Book) entity);
+        else if (domainClass == BookDetail.class) projectDetail(id);
+        else if (domainClass == Author.class) rename((Author) entity);
+    }
+
+    @Override
+    public void afterSoftDelete(Class<?> domainClass, Object id) {
+        if (domainClass == Book.class) remove(id);
+    }
+
+    @Override
+    public void afterRestore(Class<?> domainClass, Object id) {
+        if (domainClass != Book.class) return;
+        Book book = em.find(Book.class, id);
+        if (book != null) project(book);
+    }
+
+    @Override
+    public void afterHardDelete(Class<?> domainClass, Object id) {
+        if (domainClass == Book.class) remove(id);
+    }
+
+    private void project(Book book) {
+        BookCatalogue row = em.find(BookCatalogue.class, book.getId());
+        if (row == null) row = BookCatalogue.builder().bookId(book.getId()).build();
+
+        BookDetail detail = book.getDetail();
+        row.setTenantId(book.getTenantId());
+        row.setTitle(book.getTitle());
+        row.setPrice(book.getPrice());
+        row.setAuthorId(book.getAuthor().getId());
+        row.setAuthorName(book.getAuthor().getFullName());
+        row.setPage(detail == null ? null : detail.getPage());
+        row.setWeight(detail == null ? null : detail.getWeight());
+
+        if (!em.contains(row)) em.persist(row);
+    }
+
+    private void projectDetail(Object detailId) {
+        em.createQuery(BOOKS_OF_DETAIL_JPQL, Book.class)
+                .setParameter("detailId", detailId)
+                .getResultList()
+                .forEach(this::project);
+    }
+
+    private void rename(Author author) {
+        em.createQuery(RENAME_AUTHOR_JPQL)
+                .setParameter("authorName", author.getFullName())
+                .setParameter("authorId", author.getId())
+                .executeUpdate();
+    }
+
+    private void remove(Object bookId) {
+        em.createQuery(REMOVE_JPQL).setParameter("bookId", bookId).executeUpdate();
+    }
+
+}
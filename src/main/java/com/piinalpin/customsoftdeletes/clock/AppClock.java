@@ -0,0 +1,98 @@
+package com.piinalpin.customsoftdeletes.clock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UTC time source for every timestamp the application writes. In cached mode the current time is refreshed
+ * by a background thread once per tick, so reading it is a volatile read without allocation.
+ * A thread can pin the time of a clock, e.g. for the duration of a request, so every stamp it produces is
+ * identical. Pinning is per clock, other clocks on the same thread keep running.
+ */
+public class AppClock implements AutoCloseable {
+
+    private final ThreadLocal<Tick> pinned = new ThreadLocal<>();
+    private final Clock clock;
+    private final ScheduledExecutorService ticker;
+    private volatile Tick tick;
+
+    public AppClock(Clock clock) {
+        this.clock = clock;
+        this.ticker = null;
+    }
+
+    private AppClock(Clock clock, long tickMillis) {
+        this.clock = clock;
+        this.tick = new Tick(clock.instant());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "app-clock-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(() -> this.tick = new Tick(clock.instant()), tickMillis, tickMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static AppClock system() {
+        return new AppClock(Clock.systemUTC());
+    }
+
+    public static AppClock cached(long tickMillis) {
+        return new AppClock(Clock.systemUTC(), tickMillis);
+    }
+
+    public static AppClock fixed(Instant instant) {
+        return new AppClock(Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    public Instant now() {
+        return current().instant;
+    }
+
+    public LocalDateTime nowUtc() {
+        return current().localDateTime;
+    }
+
+    /**
+     * Freezes the time seen by the current thread until {@link #unpin()} is called.
+     */
+    public Instant pin() {
+        Tick tick = new Tick(current().instant);
+        pinned.set(tick);
+        return tick.instant;
+    }
+
+    public void unpin() {
+        pinned.remove();
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) ticker.shutdownNow();
+    }
+
+    private Tick current() {
+        Tick pinnedTick = pinned.get();
+        if (pinnedTick != null) return pinnedTick;
+        Tick cached = tick;
+        return cached != null ? cached : new Tick(clock.instant());
+    }
+
+    private static final class Tick {
+
+        private final Instant instant;
+        private final LocalDateTime localDateTime;
+
+        Tick(Instant instant) {
+            this.instant = instant;
+            this.localDateTime = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+
+    }
+
+}
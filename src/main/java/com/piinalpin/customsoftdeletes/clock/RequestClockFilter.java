@@ -0,0 +1,37 @@
+package com.piinalpin.customsoftdeletes.clock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Pins the {@link AppClock} for the request so created/updated/deleted stamps and the response timestamp agree.
+ */
+@Component
+public class RequestClockFilter extends OncePerRequestFilter {
+
+    private final AppClock appClock;
+
+    @Autowired
+    public RequestClockFilter(AppClock appClock) {
+        this.appClock = appClock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        appClock.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            appClock.unpin();
+        }
+    }
+
+}
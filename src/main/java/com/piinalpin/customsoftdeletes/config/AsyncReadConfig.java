@@ -0,0 +1,55 @@
+package com.piinalpin.customsoftdeletes.config;
+
+import com.piinalpin.customsoftdeletes.entity.BookDetail;
+import com.piinalpin.customsoftdeletes.repository.BookDetailRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.AsyncSoftDeletesRepository;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncReadConfig {
+
+    /**
+     * Declared explicitly because any other executor bean makes Boot back off from its own, which MVC async
+     * requests, streaming responses and the deferred JPA bootstrap rely on.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Bounded so blocked JDBC reads can never outnumber the connection pool by much, overflow is rejected
+     * instead of queued without limit.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jdbcReadExecutor(@Value("${app.async-read.pool-size:16}") int poolSize,
+                                                   @Value("${app.async-read.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("jdbc-read-");
+        executor.setTaskDecorator(TenantContext::propagate);
+        return executor;
+    }
+
+    @Bean
+    public AsyncSoftDeletesRepository<BookDetail, Long> asyncBookDetailRepository(
+            BookDetailRepository bookDetailRepository,
+            @Qualifier("jdbcReadExecutor") ThreadPoolTaskExecutor jdbcReadExecutor) {
+        return new AsyncSoftDeletesRepository<>(bookDetailRepository, BookDetail.class, BookDetail::getBookId,
+                jdbcReadExecutor);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.piinalpin.customsoftdeletes.config;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+@Configuration
+public class ClockConfig {
+
+    @Bean(destroyMethod = "close")
+    @Lazy(false)
+    public AppClock appClock(@Value("${app.clock.cached:false}") boolean cached,
+                             @Value("${app.clock.tick-ms:1}") long tickMillis) {
+        return cached ? AppClock.cached(tickMillis) : AppClock.system();
+    }
+
+}
@@ -1,13 +1,24 @@
 package com.piinalpin.customsoftdeletes.config;
 
+import com.piinalpin.customsoftdeletes.admission.RepositoryLatency;
+import com.piinalpin.customsoftdeletes.audit.AuditTrail;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesListener;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepository;
 import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepositoryImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
 import org.springframework.data.jpa.repository.support.JpaRepositoryImplementation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.persistence.EntityManager;
 import java.io.Serializable;
@@ -20,28 +31,86 @@ public class CustomJpaRepositoryFactoryBean<T extends JpaRepository<S, ID>, S, I
         super(repositoryInterface);
     }
 
+    private AuditTrail auditTrail;
+    private AppClock appClock;
+    private ObjectProvider<SoftDeletesListener> listeners;
+    private ObjectProvider<PlatformTransactionManager> transactionManagers;
+    private long coalesceWindowMillis;
+
+    @Autowired
+    public void setAuditTrail(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Autowired
+    public void setAppClock(AppClock appClock) {
+        this.appClock = appClock;
+    }
+
+    @Autowired
+    public void setListeners(ObjectProvider<SoftDeletesListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Autowired
+    public void setTransactionManagers(ObjectProvider<PlatformTransactionManager> transactionManagers) {
+        this.transactionManagers = transactionManagers;
+    }
+
+    @Value("${app.repository.coalesce-window-ms:0}")
+    public void setCoalesceWindowMillis(long coalesceWindowMillis) {
+        this.coalesceWindowMillis = coalesceWindowMillis;
+    }
+
     @Override
     protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
-        return new CustomJpaRepositoryFactory<T, ID>(entityManager);
+        CustomJpaRepositoryFactory<T, ID> factory = new CustomJpaRepositoryFactory<>(entityManager, auditTrail, appClock,
+                listeners, transactionManagers, coalesceWindowMillis);
+        factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryLatency()));
+        return factory;
     }
 
     private static class CustomJpaRepositoryFactory<T, ID extends Serializable> extends JpaRepositoryFactory {
 
         private final EntityManager entityManager;
+        private final AuditTrail auditTrail;
+        private final AppClock appClock;
+        private final ObjectProvider<SoftDeletesListener> listeners;
+        private final ObjectProvider<PlatformTransactionManager> transactionManagers;
+        private final long coalesceWindowMillis;
 
-        CustomJpaRepositoryFactory(EntityManager entityManager) {
+        CustomJpaRepositoryFactory(EntityManager entityManager, AuditTrail auditTrail, AppClock appClock,
+                                   ObjectProvider<SoftDeletesListener> listeners,
+                                   ObjectProvider<PlatformTransactionManager> transactionManagers,
+                                   long coalesceWindowMillis) {
             super(entityManager);
             this.entityManager = entityManager;
+            this.auditTrail = auditTrail;
+            this.appClock = appClock;
+            this.listeners = listeners;
+            this.transactionManagers = transactionManagers;
+            this.coalesceWindowMillis = coalesceWindowMillis;
         }
 
+        /**
+         * Only {@link SoftDeletesRepository} interfaces get the soft deletes implementation, plain Spring Data
+         * repositories such as read models keep {@link SimpleJpaRepository}.
+         */
         @Override
         protected JpaRepositoryImplementation<?, ?> getTargetRepository(RepositoryInformation information, EntityManager entityManager) {
-            return new SoftDeletesRepositoryImpl<T, ID>((Class<T>) information.getDomainType(), this.entityManager);
+            if (!isSoftDeletes(information)) return super.getTargetRepository(information, entityManager);
+            JpaEntityInformation<T, ?> entityInformation = getEntityInformation((Class<T>) information.getDomainType());
+            return new SoftDeletesRepositoryImpl<T, ID>(entityInformation, this.entityManager,
+                    this.auditTrail, this.appClock, this.listeners, this.transactionManagers, this.coalesceWindowMillis);
         }
 
         @Override
         protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
-            return SoftDeletesRepositoryImpl.class;
+            return isSoftDeletes(metadata) ? SoftDeletesRepositoryImpl.class : SimpleJpaRepository.class;
+        }
+
+        private static boolean isSoftDeletes(RepositoryMetadata metadata) {
+            return SoftDeletesRepository.class.isAssignableFrom(metadata.getRepositoryInterface());
         }
     }
 
@@ -0,0 +1,44 @@
+package com.piinalpin.customsoftdeletes.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot registers every {@link Module} bean on the auto-configured {@code ObjectMapper}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter/setter calls with generated lambdas.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Serializes uninitialized lazy associations as {@code null} instead of initializing them through the proxy.
+     */
+    @Bean
+    public Module hibernate5Module() {
+        Hibernate5Module module = new Hibernate5Module();
+        module.disable(Hibernate5Module.Feature.FORCE_LAZY_LOADING);
+        module.enable(Hibernate5Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+
+    /**
+     * Snake case for every type, resolved once per type when its serializer is built instead of per annotated class.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer snakeCaseCustomizer() {
+        return builder -> builder.propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    }
+
+}
@@ -1,27 +1,51 @@
 package com.piinalpin.customsoftdeletes.constant;
 
+import com.fasterxml.jackson.core.io.SerializedString;
+
 public class AppConstant {
 
     private AppConstant() {}
 
     public static final String DEFAULT_SYSTEM = "SYSTEM";
 
+    public static final String AUDITOR_HEADER = "X-Auditor";
+
+    public static final String DEFAULT_TENANT = "default";
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
     public enum ResponseCode {
 
         SUCCESS("Success!"),
         DATA_NOT_FOUND("Data not found!"),
+        DUPLICATE_DATA("Data already exists!"),
+        ACCESS_DENIED("Access denied!"),
+        TOO_MANY_REQUESTS("Too many requests!"),
+        SERVICE_BUSY("Service is busy!"),
         UNKNOWN_ERROR("Happened error!");
 
         private final String message;
+        private final SerializedString serializedName;
+        private final SerializedString serializedMessage;
 
         private ResponseCode(String message) {
             this.message = message;
+            this.serializedName = new SerializedString(name());
+            this.serializedMessage = new SerializedString(message);
         }
 
         public String getMessage() {
             return this.message;
         }
 
+        public SerializedString getSerializedName() {
+            return this.serializedName;
+        }
+
+        public SerializedString getSerializedMessage() {
+            return this.serializedMessage;
+        }
+
     }
 
 }
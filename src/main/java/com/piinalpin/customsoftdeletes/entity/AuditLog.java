@@ -0,0 +1,47 @@
+package com.piinalpin.customsoftdeletes.entity;
+
+import com.piinalpin.customsoftdeletes.audit.AuditAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail row. Rows are written in batches by {@link com.piinalpin.customsoftdeletes.audit.AuditWriter}
+ * through JDBC, the mapping only exists so the table is part of the schema.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "T_AUDIT_LOG", indexes = @Index(name = "IDX_AUDIT_LOG_ENTITY", columnList = "entity_name, entity_id"))
+public class AuditLog implements Serializable {
+
+    private static final long serialVersionUID = -1466245460950012473L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 16)
+    private AuditAction action;
+
+    @Column(name = "entity_name", nullable = false)
+    private String entityName;
+
+    @Column(name = "entity_id")
+    private String entityId;
+
+    @Column(name = "actor", nullable = false)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+}
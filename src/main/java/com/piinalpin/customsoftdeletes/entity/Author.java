@@ -1,8 +1,6 @@
 package com.piinalpin.customsoftdeletes.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.piinalpin.customsoftdeletes.entity.base.BaseEntityWithDeletedAt;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,8 +17,7 @@ import java.util.List;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-@Table(name = "M_AUTHOR")
+@Table(name = "M_AUTHOR", indexes = @Index(name = "IDX_AUTHOR_TENANT", columnList = "tenant_id, deleted_at, id"))
 public class Author extends BaseEntityWithDeletedAt {
 
     private static final long serialVersionUID = 5703123232205376654L;
@@ -1,9 +1,8 @@
 package com.piinalpin.customsoftdeletes.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.piinalpin.customsoftdeletes.entity.base.BaseEntityWithDeletedAt;
+import com.piinalpin.customsoftdeletes.entity.base.LiveUnique;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -19,8 +18,8 @@ import java.util.List;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-@Table(name = "M_BOOK")
+@Table(name = "M_BOOK", indexes = @Index(name = "IDX_BOOK_TENANT", columnList = "tenant_id, deleted_at, id"))
+@LiveUnique(name = "UK_BOOK_AUTHOR_TITLE", columns = {"tenant_id", "author_id", "title"})
 public class Book extends BaseEntityWithDeletedAt {
 
     private static final long serialVersionUID = 3000665212891573963L;
@@ -0,0 +1,52 @@
+package com.piinalpin.customsoftdeletes.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Flattened catalogue read model, one row per live book, maintained by
+ * {@link com.piinalpin.customsoftdeletes.catalogue.CatalogueProjector}.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "R_BOOK_CATALOGUE", indexes = @Index(name = "IDX_BOOK_CATALOGUE_TENANT", columnList = "tenant_id, book_id"))
+public class BookCatalogue implements Serializable {
+
+    private static final long serialVersionUID = -2370954164328175517L;
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "price", nullable = false)
+    private Integer price;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "author_name", nullable = false)
+    private String authorName;
+
+    @Column(name = "page")
+    private Integer page;
+
+    @Column(name = "weight")
+    private Integer weight;
+
+}
@@ -1,8 +1,6 @@
 package com.piinalpin.customsoftdeletes.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.piinalpin.customsoftdeletes.entity.base.BaseEntityWithDeletedAt;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,8 +16,7 @@ import javax.persistence.*;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-@Table(name = "M_BOOK_DETAIL")
+@Table(name = "M_BOOK_DETAIL", indexes = @Index(name = "IDX_BOOK_DETAIL_TENANT", columnList = "tenant_id, deleted_at, book_id"))
 public class BookDetail extends BaseEntityWithDeletedAt {
 
     private static final long serialVersionUID = -4930414280222129820L;
@@ -0,0 +1,54 @@
+package com.piinalpin.customsoftdeletes.entity;
+
+import com.piinalpin.customsoftdeletes.outbox.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Change event written in the same transaction as the entity change, dispatched later by
+ * {@link com.piinalpin.customsoftdeletes.outbox.OutboxRelay}.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "T_OUTBOX", indexes = @Index(name = "IDX_OUTBOX_PENDING", columnList = "dispatched_at, id"))
+public class Outbox implements Serializable {
+
+    private static final long serialVersionUID = 7121496893713524716L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+}
@@ -1,9 +1,8 @@
 package com.piinalpin.customsoftdeletes.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.piinalpin.customsoftdeletes.entity.base.BaseEntity;
+import com.piinalpin.customsoftdeletes.partition.PartitionKey;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -20,8 +19,10 @@ import java.util.List;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-@Table(name = "T_TRANSACTION")
+@Table(name = "T_TRANSACTION", indexes = {
+        @Index(name = "IDX_TRANSACTION_TENANT", columnList = "tenant_id, id"),
+        @Index(name = "IDX_TRANSACTION_PARTITION", columnList = "tenant_id, partition_key, transaction_date")
+})
 public class Transaction extends BaseEntity {
 
     private static final long serialVersionUID = 6417258128520039672L;
@@ -36,6 +37,10 @@ public class Transaction extends BaseEntity {
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime transactionDate;
 
+    @JsonIgnore
+    @Column(name = "partition_key", nullable = false)
+    private Integer partitionKey;
+
     @Column(name = "total_price", nullable = false)
     private Integer totalPrice;
 
@@ -46,4 +51,9 @@ public class Transaction extends BaseEntity {
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "transaction")
     private List<TransactionDetail> transactionDetails;
 
+    @PrePersist
+    void assignPartition() {
+        this.partitionKey = PartitionKey.of(transactionDate);
+    }
+
 }
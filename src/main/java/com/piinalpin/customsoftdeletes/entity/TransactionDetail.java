@@ -1,8 +1,8 @@
 package com.piinalpin.customsoftdeletes.entity;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.piinalpin.customsoftdeletes.entity.base.BaseEntity;
+import com.piinalpin.customsoftdeletes.partition.PartitionKey;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -18,8 +18,10 @@ import java.io.Serializable;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-@Table(name = "T_TRANSACTION_DETAIL")
+@Table(name = "T_TRANSACTION_DETAIL", indexes = {
+        @Index(name = "IDX_TRANSACTION_DETAIL_TENANT", columnList = "tenant_id, transaction_id"),
+        @Index(name = "IDX_TRANSACTION_DETAIL_PARTITION", columnList = "partition_key, transaction_id")
+})
 @IdClass(TransactionDetail.TransactionDetailId.class)
 public class TransactionDetail extends BaseEntity {
 
@@ -50,4 +52,13 @@ public class TransactionDetail extends BaseEntity {
     @Column(name = "price", nullable = false)
     private Integer price;
 
+    @JsonIgnore
+    @Column(name = "partition_key", nullable = false)
+    private Integer partitionKey;
+
+    @PrePersist
+    void assignPartition() {
+        this.partitionKey = PartitionKey.of(transaction.getTransactionDate());
+    }
+
 }
@@ -1,28 +1,33 @@
 package com.piinalpin.customsoftdeletes.entity.base;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
-import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.piinalpin.customsoftdeletes.audit.AuditEntityListener;
+import com.piinalpin.customsoftdeletes.audit.AuditorContext;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import javax.persistence.Column;
+import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import javax.persistence.PrePersist;
-import javax.persistence.PreUpdate;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
 @SuperBuilder
 @MappedSuperclass
+@EntityListeners({TimestampEntityListener.class, AuditEntityListener.class})
 @NoArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public abstract class BaseEntity implements Serializable {
 
     private static final long serialVersionUID = 346886977546599767L;
 
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -34,13 +39,8 @@ public abstract class BaseEntity implements Serializable {
 
     @PrePersist
     void onCreate() {
-        this.createdAt = LocalDateTime.now();
-        if (createdBy == null) createdBy = AppConstant.DEFAULT_SYSTEM;
-    }
-
-    @PreUpdate
-    void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        if (tenantId == null) tenantId = TenantContext.currentTenant();
+        if (createdBy == null) createdBy = AuditorContext.currentAuditor();
     }
 
 }
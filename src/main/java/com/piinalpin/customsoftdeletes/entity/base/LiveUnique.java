@@ -0,0 +1,38 @@
+package com.piinalpin.customsoftdeletes.entity.base;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a unique key that only applies to live rows of a {@link BaseEntityWithDeletedAt} entity, so a soft
+ * deleted row never blocks re-creating the same values. Installed by
+ * {@link com.piinalpin.customsoftdeletes.repository.softdeletes.LiveUniqueIndexes}.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(LiveUnique.List.class)
+public @interface LiveUnique {
+
+    /**
+     * Name of the unique index.
+     */
+    String name();
+
+    /**
+     * Column names of the key, {@code deleted_at} is added by the index itself.
+     */
+    String[] columns();
+
+    @Documented
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        LiveUnique[] value();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.piinalpin.customsoftdeletes.entity.base;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * Stamps {@link BaseEntity#getCreatedAt()} and {@link BaseEntity#getUpdatedAt()} from the application's
+ * {@link AppClock}, so they agree with the {@code deleted_at} stamps written by the soft deletes repository.
+ */
+public class TimestampEntityListener {
+
+    private final AppClock appClock;
+
+    @Autowired
+    public TimestampEntityListener(AppClock appClock) {
+        this.appClock = appClock;
+    }
+
+    @PrePersist
+    void onCreate(BaseEntity entity) {
+        entity.setCreatedAt(appClock.nowUtc());
+    }
+
+    @PreUpdate
+    void onUpdate(BaseEntity entity) {
+        entity.setUpdatedAt(appClock.nowUtc());
+    }
+
+}
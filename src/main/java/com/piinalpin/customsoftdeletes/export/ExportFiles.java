@@ -0,0 +1,220 @@
+package com.piinalpin.customsoftdeletes.export;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs file exports off the request thread and hands out a random id per file instead of a server path. Files are
+ * kept in one directory per tenant and deleted once older than the retention, a run also clears whatever an earlier
+ * process left behind. Only exports still queued or running are tracked in memory, the state of finished ones is
+ * read back from the directory.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class ExportFiles {
+
+    static final String PART_SUFFIX = ".part";
+    private static final String FAILED_SUFFIX = ".failed";
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final TransactionExporter transactionExporter;
+    private final AppClock appClock;
+    private final Path directory;
+    private final long retentionMinutes;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, String> running = new ConcurrentHashMap<>();
+    private ScheduledExecutorService cleaner;
+
+    @Autowired
+    public ExportFiles(TransactionExporter transactionExporter, AppClock appClock,
+                       @Value("${app.export.directory:${java.io.tmpdir}/exports}") String directory,
+                       @Value("${app.export.retention-minutes:60}") long retentionMinutes,
+                       @Value("${app.export.pool-size:2}") int poolSize,
+                       @Value("${app.export.queue-capacity:16}") int queueCapacity) {
+        this.transactionExporter = transactionExporter;
+        this.appClock = appClock;
+        this.directory = Paths.get(directory);
+        this.retentionMinutes = retentionMinutes;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "export-file-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        if (retentionMinutes <= 0) return;
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "export-file-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::deleteExpiredSafely, 0, Math.max(1, retentionMinutes / 4), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (cleaner != null) cleaner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the export of a tenant's transactions to a new file.
+     *
+     * @return id of the file, to be looked up with {@link #find}
+     * @throws RejectedExecutionException when as many exports as the queue holds are already waiting
+     */
+    public String submit(String tenantId, LocalDateTime from, LocalDateTime to, ExportFormat format, boolean gzip) {
+        String fileId = UUID.randomUUID().toString();
+        running.put(fileId, tenantId);
+        try {
+            executor.execute(() -> {
+                try {
+                    Path tenantDirectory = Files.createDirectories(tenantDirectory(tenantId));
+                    transactionExporter.exportToFile(tenantId, from, to, format, gzip,
+                            tenantDirectory.resolve(fileId + "." + format.getExtension() + (gzip ? GZIP_SUFFIX : "")));
+                } catch (Exception e) {
+                    log.error("Failed to export transactions to file {}. Error: {}", fileId, e.getMessage());
+                    markFailed(tenantId, fileId);
+                } finally {
+                    running.remove(fileId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.remove(fileId);
+            throw e;
+        }
+        return fileId;
+    }
+
+    /**
+     * @return the export file of the tenant, or empty when the id is unknown, belongs to another tenant or expired
+     */
+    public Optional<ExportFile> find(String tenantId, String fileId) {
+        if (!isFileId(fileId)) return Optional.empty();
+        if (tenantId.equals(running.get(fileId))) return Optional.of(new ExportFile(ExportFile.Status.PENDING, null, null));
+
+        Path tenantDirectory = tenantDirectory(tenantId);
+        if (!Files.isDirectory(tenantDirectory)) return Optional.empty();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tenantDirectory, fileId + ".*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PART_SUFFIX)) return Optional.of(new ExportFile(ExportFile.Status.PENDING, null, null));
+                if (name.endsWith(FAILED_SUFFIX)) return Optional.of(new ExportFile(ExportFile.Status.FAILED, null, null));
+                return Optional.of(new ExportFile(ExportFile.Status.READY, file, contentType(name)));
+            }
+        } catch (IOException e) {
+            log.error("Failed to look up export file {}. Error: {}", fileId, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes every file older than the retention, including parts and failure markers of crashed runs.
+     */
+    public void deleteExpired() throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        Instant expiry = appClock.now().minus(retentionMinutes, ChronoUnit.MINUTES);
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !running.containsKey(fileId(file)))
+                    .forEach(file -> deleteIfExpired(file, expiry));
+        }
+    }
+
+    private void deleteExpiredSafely() {
+        try {
+            deleteExpired();
+        } catch (Exception e) {
+            log.error("Failed to delete expired export files. Error: {}", e.getMessage());
+        }
+    }
+
+    private void deleteIfExpired(Path file, Instant expiry) {
+        try {
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry) && Files.deleteIfExists(file))
+                log.info("Deleted expired export file {}", file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file {}. Error: {}", file, e.getMessage());
+        }
+    }
+
+    private void markFailed(String tenantId, String fileId) {
+        try {
+            Files.createDirectories(tenantDirectory(tenantId));
+            Files.write(tenantDirectory(tenantId).resolve(fileId + FAILED_SUFFIX), new byte[0]);
+        } catch (IOException e) {
+            log.warn("Failed to mark export file {} as failed. Error: {}", fileId, e.getMessage());
+        }
+    }
+
+    private Path tenantDirectory(String tenantId) {
+        return directory.resolve(tenantId.replaceAll("[^A-Za-z0-9_-]", "_"));
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(GZIP_SUFFIX)) return "application/gzip";
+        ExportFormat format = ExportFormat.ofExtension(name.substring(name.indexOf('.') + 1));
+        return format == null ? "application/octet-stream" : format.getContentType();
+    }
+
+    private static String fileId(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    /**
+     * Only canonical UUIDs, so an id can never reach outside the tenant's directory.
+     */
+    private static boolean isFileId(String fileId) {
+        try {
+            return UUID.fromString(fileId).toString().equals(fileId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @lombok.Value
+    public static class ExportFile {
+
+        public enum Status { PENDING, READY, FAILED }
+
+        Status status;
+        Path path;
+        String contentType;
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.piinalpin.customsoftdeletes.export;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Line formats of the transaction export, one line per transaction detail.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        void header(StringBuilder line) {
+            line.append("transaction_id,transaction_date,customer_name,total_price,total_qty,book_id,qty,price\n");
+        }
+
+        @Override
+        void row(StringBuilder line, ResultSet rs) throws SQLException {
+            line.append(rs.getLong(1)).append(',')
+                    .append(rs.getObject(2, LocalDateTime.class)).append(',');
+            quoteCsv(line, rs.getString(3));
+            line.append(',').append(rs.getInt(4))
+                    .append(',').append(rs.getInt(5))
+                    .append(',').append(rs.getLong(6))
+                    .append(',').append(rs.getInt(7))
+                    .append(',').append(rs.getInt(8))
+                    .append('\n');
+        }
+    },
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void header(StringBuilder line) {
+            // self-describing lines, no header
+        }
+
+        @Override
+        void row(StringBuilder line, ResultSet rs) throws SQLException {
+            line.append("{\"transaction_id\":").append(rs.getLong(1))
+                    .append(",\"transaction_date\":\"").append(rs.getObject(2, LocalDateTime.class))
+                    .append("\",\"customer_name\":");
+            quoteJson(line, rs.getString(3));
+            line.append(",\"total_price\":").append(rs.getInt(4))
+                    .append(",\"total_qty\":").append(rs.getInt(5))
+                    .append(",\"book_id\":").append(rs.getLong(6))
+                    .append(",\"qty\":").append(rs.getInt(7))
+                    .append(",\"price\":").append(rs.getInt(8))
+                    .append("}\n");
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract void header(StringBuilder line);
+
+    abstract void row(StringBuilder line, ResultSet rs) throws SQLException;
+
+    /**
+     * @return the format for a request parameter, or {@code null} when unsupported
+     */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equals(name.toUpperCase(Locale.ROOT))) return format;
+        }
+        return null;
+    }
+
+    /**
+     * @return the format writing files with this extension, or {@code null} when unsupported
+     */
+    public static ExportFormat ofExtension(String extension) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(extension)) return format;
+        }
+        return null;
+    }
+
+    private static void quoteCsv(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void quoteJson(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') line.append('\\').append(c);
+            else if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+            else line.append(c);
+        }
+        line.append('"');
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.piinalpin.customsoftdeletes.export;
+
+import com.piinalpin.customsoftdeletes.partition.PartitionKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams transactions joined with their details over a forward-only cursor. Lines are encoded straight into a
+ * direct buffer that is drained to the target channel whenever it fills, so memory stays constant regardless of
+ * the range exported.
+ *
+ * <p>Only live rows are exported. Months already moved to {@code T_TRANSACTION_ARCHIVE} by the
+ * {@link com.piinalpin.customsoftdeletes.partition.TransactionArchiver} are left out, so a range reaching back past
+ * {@code app.transaction.retention-months} comes back without them.
+ */
+@Slf4j
+@Component
+public class TransactionExporter {
+
+    private static final String EXPORT_SQL = "SELECT t.id, t.transaction_date, t.customer_name, t.total_price, " +
+            "t.total_qty, d.book_id, d.qty, d.price " +
+            "FROM T_TRANSACTION t JOIN T_TRANSACTION_DETAIL d " +
+            "ON d.transaction_id = t.id AND d.partition_key = t.partition_key " +
+            "WHERE t.tenant_id = ? AND t.partition_key BETWEEN ? AND ? " +
+            "AND t.transaction_date >= ? AND t.transaction_date < ? " +
+            "ORDER BY t.id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TransactionExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes the export to {@code out} without closing it.
+     *
+     * @return number of lines written
+     */
+    public long export(String tenantId, LocalDateTime from, LocalDateTime to, ExportFormat format, boolean gzip,
+                       OutputStream out) throws IOException {
+        if (!gzip) return export(tenantId, from, to, format, Channels.newChannel(out));
+
+        GZIPOutputStream gzipStream = new GZIPOutputStream(out, BUFFER_SIZE);
+        long rows = export(tenantId, from, to, format, Channels.newChannel(gzipStream));
+        gzipStream.finish();
+        return rows;
+    }
+
+    /**
+     * Writes the export to {@code file} through a {@code .part} sibling, the file only appears once it is complete.
+     *
+     * @return number of lines written
+     */
+    public long exportToFile(String tenantId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                             boolean gzip, Path file) throws IOException {
+        Path part = file.resolveSibling(file.getFileName() + ExportFiles.PART_SUFFIX);
+
+        long rows;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                rows = export(tenantId, from, to, format, Channels.newChannel(gzipStream));
+                gzipStream.finish();
+            } else {
+                rows = export(tenantId, from, to, format, channel);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported {} transaction lines to {}", rows, file);
+        return rows;
+    }
+
+    private long export(String tenantId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                        WritableByteChannel channel) throws IOException {
+        LineWriter writer = new LineWriter(channel);
+        StringBuilder line = new StringBuilder(256);
+        format.header(line);
+        writer.write(line);
+
+        long[] rows = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setString(1, tenantId);
+                statement.setInt(2, PartitionKey.of(from));
+                statement.setInt(3, PartitionKey.ofExclusiveEnd(to));
+                statement.setObject(4, from);
+                statement.setObject(5, to);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                line.setLength(0);
+                format.row(line, rs);
+                try {
+                    writer.write(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    /**
+     * Encodes UTF-8 into a reusable direct buffer and drains it to the channel when full.
+     */
+    private static final class LineWriter {
+
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        LineWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(CharSequence line) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (encoder.encode(chars, buffer, false) == CoderResult.OVERFLOW) drain();
+        }
+
+        void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            while (encoder.flush(buffer) == CoderResult.OVERFLOW) drain();
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+    }
+
+}
@@ -5,6 +5,7 @@ import com.piinalpin.customsoftdeletes.service.AuthorService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(value = "/author", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -22,8 +23,8 @@ public class AuthorController {
     }
 
     @GetMapping(value = "")
-    public ResponseEntity<Object> getAllAuthor() {
-        return authorService.getAll();
+    public ResponseEntity<Object> getAllAuthor(WebRequest webRequest) {
+        return authorService.getAll(webRequest);
     }
 
 }
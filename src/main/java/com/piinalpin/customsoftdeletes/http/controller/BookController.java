@@ -2,9 +2,14 @@ package com.piinalpin.customsoftdeletes.http.controller;
 
 import com.piinalpin.customsoftdeletes.http.dto.BookRequest;
 import com.piinalpin.customsoftdeletes.service.BookService;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(value = "/book", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -22,13 +27,23 @@ public class BookController {
     }
 
     @GetMapping(value = "")
-    public ResponseEntity<Object> getAllBooks() {
-        return bookService.getAllBook();
+    public ResponseEntity<Object> getAllBooks(WebRequest webRequest) {
+        return bookService.getAllBook(webRequest);
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<Object> searchBook(@RequestParam(value = "q") String text, Pageable pageable) {
+        return bookService.searchBook(text, pageable);
+    }
+
+    @GetMapping(value = "/detail")
+    public CompletableFuture<ResponseEntity<Object>> getBookDetails(@RequestParam(value = "ids") List<Long> bookIds) {
+        return bookService.getBookDetails(bookIds);
     }
 
     @GetMapping(value = "/detail/{id}")
-    public ResponseEntity<Object> getBookDetail(@PathVariable(value = "id") Long bookId) {
-        return bookService.getBookDetail(bookId);
+    public CompletableFuture<ResponseEntity<Object>> getBookDetail(@PathVariable(value = "id") Long bookId, WebRequest webRequest) {
+        return bookService.getBookDetail(bookId, webRequest);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -36,6 +51,11 @@ public class BookController {
         return bookService.deleteBook(bookId);
     }
 
+    @PostMapping(value = "/{id}/restore")
+    public ResponseEntity<Object> restoreBook(@PathVariable(value = "id") Long bookId) {
+        return bookService.restoreBook(bookId);
+    }
+
     @PostMapping(value = "/{id}")
     public ResponseEntity<Object> updatePrice(@PathVariable(value = "id") Long bookId,
                                               @RequestBody BookRequest request) {
@@ -0,0 +1,28 @@
+package com.piinalpin.customsoftdeletes.http.controller;
+
+import com.piinalpin.customsoftdeletes.service.CatalogueService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping(value = "/catalogue", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+public class CatalogueController {
+
+    private final CatalogueService catalogueService;
+
+    public CatalogueController(CatalogueService catalogueService) {
+        this.catalogueService = catalogueService;
+    }
+
+    @GetMapping(value = "")
+    public ResponseEntity<Object> getCatalogue(@PageableDefault(size = 50, sort = "bookId", direction = Sort.Direction.ASC)
+                                                       Pageable pageable, WebRequest webRequest) {
+        return catalogueService.getCatalogue(pageable, webRequest);
+    }
+
+}
@@ -3,9 +3,14 @@ package com.piinalpin.customsoftdeletes.http.controller;
 import com.piinalpin.customsoftdeletes.http.dto.TransactionRequest;
 import com.piinalpin.customsoftdeletes.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/transaction", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -23,6 +28,43 @@ public class TransactionController {
         return transactionService.createTransaction(request);
     }
 
+    @GetMapping(value = "")
+    public ResponseEntity<Object> getTransactions(
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return transactionService.getTransactions(from, to);
+    }
+
+    @GetMapping(value = "/export", produces = {"text/csv", "application/x-ndjson", "application/gzip",
+            MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        return transactionService.exportTransactions(from, to, format, gzip);
+    }
+
+    @GetMapping(value = "/export", params = "target=file")
+    public ResponseEntity<Object> exportTransactionsToFile(
+            @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        return transactionService.exportTransactionsToFile(from, to, format, gzip);
+    }
+
+    @GetMapping(value = "/export/{id}", produces = {"text/csv", "application/x-ndjson", "application/gzip",
+            MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getExportFile(@PathVariable(value = "id") String fileId) {
+        return transactionService.getExportFile(fileId);
+    }
+
+    @GetMapping(value = "/details")
+    public ResponseEntity<Object> getTransactionDetails(@RequestParam(value = "ids") List<Long> transactionIds) {
+        return transactionService.getTransactionDetails(transactionIds);
+    }
+
     @GetMapping(value = "/{id}")
     public ResponseEntity<Object> getTransactionDetail(@PathVariable(value = "id") Long transactionId) {
         return transactionService.getTransactionDetails(transactionId);
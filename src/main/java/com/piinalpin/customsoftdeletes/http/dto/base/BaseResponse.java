@@ -3,8 +3,8 @@ package com.piinalpin.customsoftdeletes.http.dto.base;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,14 +15,14 @@ import lombok.Data;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonSerialize(using = BaseResponseSerializer.class)
 public class BaseResponse<T> implements Serializable {
 
     private static final long serialVersionUID = -395801934596215889L;
 
     private LocalDateTime timestamp;
 
-    private String responseCode;
+    private AppConstant.ResponseCode responseCode;
 
     private String message;
 
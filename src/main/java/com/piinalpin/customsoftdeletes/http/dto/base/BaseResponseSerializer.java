@@ -0,0 +1,65 @@
+package com.piinalpin.customsoftdeletes.http.dto.base;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+
+/**
+ * Writes the response envelope with pre-encoded field names and response codes,
+ * then streams {@code data} straight into the generator. Envelopes built without a timestamp are stamped with the
+ * {@link AppClock} while they are written, Spring's {@code ObjectMapper} creates the serializer with it injected.
+ */
+@SuppressWarnings("rawtypes")
+public class BaseResponseSerializer extends StdSerializer<BaseResponse> {
+
+    private static final long serialVersionUID = 4417365004913880315L;
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString RESPONSE_CODE = new SerializedString("response_code");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+
+    private final transient AppClock appClock;
+
+    public BaseResponseSerializer() {
+        this(AppClock.system());
+    }
+
+    @Autowired
+    public BaseResponseSerializer(AppClock appClock) {
+        super(BaseResponse.class);
+        this.appClock = appClock;
+    }
+
+    @Override
+    public void serialize(BaseResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        AppConstant.ResponseCode responseCode = value.getResponseCode();
+
+        gen.writeStartObject(value);
+
+        gen.writeFieldName(TIMESTAMP);
+        provider.defaultSerializeValue(value.getTimestamp() == null ? appClock.nowUtc() : value.getTimestamp(), gen);
+
+        gen.writeFieldName(RESPONSE_CODE);
+        if (responseCode == null) gen.writeNull();
+        else gen.writeString(responseCode.getSerializedName());
+
+        gen.writeFieldName(MESSAGE);
+        if (responseCode != null && responseCode.getMessage().equals(value.getMessage()))
+            gen.writeString(responseCode.getSerializedMessage());
+        else if (value.getMessage() == null) gen.writeNull();
+        else gen.writeString(value.getMessage());
+
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(value.getData(), gen);
+
+        gen.writeEndObject();
+    }
+
+}
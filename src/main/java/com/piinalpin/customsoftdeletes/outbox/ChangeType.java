@@ -0,0 +1,11 @@
+package com.piinalpin.customsoftdeletes.outbox;
+
+public enum ChangeType {
+
+    SAVED,
+    SOFT_DELETED,
+    RESTORED,
+    HARD_DELETED,
+    ARCHIVED
+
+}
@@ -0,0 +1,39 @@
+package com.piinalpin.customsoftdeletes.outbox;
+
+import com.piinalpin.customsoftdeletes.entity.Outbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent change events in memory, meant for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final Deque<Outbox> events = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryOutboxSink(@Value("${app.outbox.memory-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<Outbox> batch) {
+        for (Outbox event : batch) {
+            if (events.size() == capacity) events.pollFirst();
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<Outbox> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.piinalpin.customsoftdeletes.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.entity.Outbox;
+import com.piinalpin.customsoftdeletes.entity.Transaction;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesListener;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes an {@link Outbox} row inside the transaction of every repository write.
+ *
+ * <p>Repositories only report the aggregate root of a save, so children saved through its cascade travel in the
+ * root's {@code SAVED} payload, e.g. a book's {@code detail} or a transaction's {@code transaction_details}. A child
+ * field is left out when the root was saved without loading it, in which case the cascade did not change it either.
+ */
+@Slf4j
+@Component
+public class OutboxListener implements SoftDeletesListener {
+
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> CASCADED_CHILDREN = Map.of(
+            Book.class, Map.of("detail", book -> ((Book) book).getDetail()),
+            Transaction.class, Map.of("transaction_details", transaction -> ((Transaction) transaction).getTransactionDetails()));
+
+    private final ObjectMapper objectMapper;
+    private final AppClock appClock;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    public OutboxListener(ObjectMapper objectMapper, AppClock appClock) {
+        this.objectMapper = objectMapper;
+        this.appClock = appClock;
+    }
+
+    @Override
+    public void afterSave(Class<?> domainClass, Object id, Object entity) {
+        write(domainClass, id, ChangeType.SAVED, toPayload(domainClass, entity));
+    }
+
+    @Override
+    public void afterSoftDelete(Class<?> domainClass, Object id) {
+        write(domainClass, id, ChangeType.SOFT_DELETED, null);
+    }
+
+    @Override
+    public void afterRestore(Class<?> domainClass, Object id) {
+        write(domainClass, id, ChangeType.RESTORED, null);
+    }
+
+    @Override
+    public void afterHardDelete(Class<?> domainClass, Object id) {
+        write(domainClass, id, ChangeType.HARD_DELETED, null);
+    }
+
+    private void write(Class<?> domainClass, Object id, ChangeType changeType, String payload) {
+        em.persist(Outbox.builder()
+                .tenantId(TenantContext.currentTenant())
+                .aggregateType(domainClass.getSimpleName())
+                .aggregateId(String.valueOf(id))
+                .changeType(changeType)
+                .payload(payload)
+                .createdAt(appClock.nowUtc())
+                .build());
+    }
+
+    private String toPayload(Class<?> domainClass, Object entity) {
+        try {
+            ObjectNode payload = objectMapper.valueToTree(entity);
+            CASCADED_CHILDREN.getOrDefault(domainClass, Map.of()).forEach((field, child) -> {
+                Object value = child.apply(entity);
+                if (Hibernate.isInitialized(value)) payload.set(field, objectMapper.valueToTree(value));
+            });
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("Failed to serialize outbox payload. Error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+}
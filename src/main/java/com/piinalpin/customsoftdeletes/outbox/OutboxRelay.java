@@ -0,0 +1,155 @@
+package com.piinalpin.customsoftdeletes.outbox;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.Outbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Background relay that reads pending {@link Outbox} rows in keyset batches, publishes them to the
+ * {@link OutboxSink} and marks them dispatched. Delivery is at-least-once. Dispatched rows are purged once older
+ * than the retention, batch by batch along the {@code (dispatched_at, id)} index.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class OutboxRelay {
+
+    private static final String PENDING_JPQL = "SELECT o FROM Outbox o WHERE o.dispatchedAt IS NULL AND o.id > :lastId " +
+            "ORDER BY o.id";
+    private static final String DISPATCHED_JPQL = "UPDATE Outbox o SET o.dispatchedAt = :dispatchedAt WHERE o.id IN :ids";
+    private static final String EXPIRED_JPQL = "SELECT o.id FROM Outbox o WHERE o.dispatchedAt < :cutoff " +
+            "ORDER BY o.dispatchedAt, o.id";
+    private static final String PURGE_JPQL = "DELETE FROM Outbox o WHERE o.id IN :ids";
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final OutboxSink sink;
+    private final AppClock appClock;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long retentionHours;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    public OutboxRelay(OutboxSink sink, AppClock appClock, PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.poll-interval-ms:500}") long pollIntervalMs,
+                       @Value("${app.outbox.retention-hours:24}") long retentionHours) {
+        this.sink = sink;
+        this.appClock = appClock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retentionHours = retentionHours;
+    }
+
+    @PostConstruct
+    void start() {
+        executor.scheduleWithFixedDelay(this::relaySafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        if (retentionHours > 0)
+            executor.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL_MINUTES, PURGE_INTERVAL_MINUTES,
+                    TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(pollIntervalMs * 5, TimeUnit.MILLISECONDS);
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.error("Failed to relay outbox events. Error: {}", e.getMessage());
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeDispatched();
+        } catch (Exception e) {
+            log.error("Failed to purge dispatched outbox events. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes rows dispatched longer than the retention ago, one batch per transaction.
+     */
+    void purgeDispatched() {
+        LocalDateTime cutoff = appClock.nowUtc().minusHours(retentionHours);
+        int purged = 0;
+        int deleted;
+        while ((deleted = purgeBatch(cutoff)) > 0) purged += deleted;
+        if (purged > 0) log.info("Purged {} dispatched outbox events", purged);
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = em.createQuery(EXPIRED_JPQL, Long.class)
+                    .setParameter("cutoff", cutoff)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            if (ids.isEmpty()) return 0;
+            return em.createQuery(PURGE_JPQL).setParameter("ids", ids).executeUpdate();
+        });
+    }
+
+    /**
+     * Every poll restarts from the oldest pending row, so rows committed out of id order are never skipped.
+     */
+    void relay() {
+        long lastId = 0;
+        Long next;
+        while ((next = relayBatch(lastId)) != null) lastId = next;
+    }
+
+    private Long relayBatch(long lastId) {
+        return transactionTemplate.execute(status -> {
+            List<Outbox> batch = em.createQuery(PENDING_JPQL, Outbox.class)
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            if (batch.isEmpty()) return null;
+
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink rejected batch", e);
+            }
+
+            List<Long> ids = batch.stream().map(Outbox::getId).collect(Collectors.toList());
+            em.createQuery(DISPATCHED_JPQL)
+                    .setParameter("dispatchedAt", appClock.nowUtc())
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            log.debug("Relayed {} outbox events", batch.size());
+            return batch.size() < batchSize ? null : ids.get(ids.size() - 1);
+        });
+    }
+
+}
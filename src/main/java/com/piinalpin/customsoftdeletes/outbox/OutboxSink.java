@@ -0,0 +1,15 @@
+package com.piinalpin.customsoftdeletes.outbox;
+
+import com.piinalpin.customsoftdeletes.entity.Outbox;
+
+import java.util.List;
+
+/**
+ * Destination of dispatched change events. A batch is marked dispatched only after {@link #publish(List)}
+ * returns, so sinks must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    void publish(List<Outbox> batch) throws Exception;
+
+}
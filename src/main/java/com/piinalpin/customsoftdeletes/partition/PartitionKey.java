@@ -0,0 +1,33 @@
+package com.piinalpin.customsoftdeletes.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Monthly partition key of transactional tables, encoded as {@code yyyyMM}. Range queries bound the key
+ * as well as the timestamp, so only the index range of the touched months is scanned.
+ */
+public class PartitionKey {
+
+    private PartitionKey() {}
+
+    public static int of(LocalDateTime dateTime) {
+        return of(YearMonth.from(dateTime));
+    }
+
+    public static int of(YearMonth yearMonth) {
+        return yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    public static YearMonth toYearMonth(int partitionKey) {
+        return YearMonth.of(partitionKey / 100, partitionKey % 100);
+    }
+
+    /**
+     * Last partition overlapping the half-open range ending at {@code to}.
+     */
+    public static int ofExclusiveEnd(LocalDateTime to) {
+        return of(to.minusNanos(1));
+    }
+
+}
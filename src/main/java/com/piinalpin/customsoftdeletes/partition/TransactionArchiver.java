@@ -0,0 +1,186 @@
+package com.piinalpin.customsoftdeletes.partition;
+
+import com.piinalpin.customsoftdeletes.audit.AuditAction;
+import com.piinalpin.customsoftdeletes.audit.AuditTrail;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.Transaction;
+import com.piinalpin.customsoftdeletes.outbox.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Month-key archiving of {@code T_TRANSACTION} and {@code T_TRANSACTION_DETAIL}. The tables are not partitioned,
+ * every row carries the {@code yyyyMM} {@link PartitionKey} of its transaction and the archiver copies the rows of
+ * an expired month into {@code *_ARCHIVE} tables, then deletes them. Rows move in chunks of transactions ordered by
+ * id, each chunk in its own database transaction, so a large month never holds its locks at once.
+ *
+ * <p>Rows are copied by name over the columns of the live table, an archive table missing one of them stops the
+ * run before anything moves. Every archived transaction gets an {@code ARCHIVED} outbox row in the same database
+ * transaction and an {@code ARCHIVE} audit event once it commits, since these writes bypass the repositories.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class TransactionArchiver {
+
+    private static final String TRANSACTION_TABLE = "T_TRANSACTION";
+    private static final String DETAIL_TABLE = "T_TRANSACTION_DETAIL";
+    private static final String ARCHIVE_SUFFIX = "_ARCHIVE";
+    private static final String PARTITIONS_SQL = "SELECT DISTINCT partition_key FROM T_TRANSACTION " +
+            "WHERE partition_key < ? ORDER BY partition_key";
+    private static final String CHUNK_SQL = "SELECT id, tenant_id FROM T_TRANSACTION " +
+            "WHERE partition_key = ? ORDER BY id LIMIT ?";
+    private static final String OUTBOX_SQL = "INSERT INTO T_OUTBOX " +
+            "(tenant_id, aggregate_type, aggregate_id, change_type, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppClock appClock;
+    private final AuditTrail auditTrail;
+    private final int retentionMonths;
+    private final int chunkSize;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public TransactionArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               AppClock appClock, AuditTrail auditTrail,
+                               @Value("${app.transaction.retention-months:0}") int retentionMonths,
+                               @Value("${app.transaction.archive-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appClock = appClock;
+        this.auditTrail = auditTrail;
+        this.retentionMonths = retentionMonths;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    void start() {
+        if (retentionMonths <= 0) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::archiveExpiredSafely, 1, 24, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private void archiveExpiredSafely() {
+        try {
+            archiveBefore(YearMonth.from(appClock.now().atOffset(ZoneOffset.UTC)).minusMonths(retentionMonths));
+        } catch (Exception e) {
+            log.error("Failed to archive expired transactions. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archives every month older than {@code month}.
+     */
+    public void archiveBefore(YearMonth month) {
+        List<Integer> partitionKeys = jdbcTemplate.queryForList(PARTITIONS_SQL, Integer.class, PartitionKey.of(month));
+        for (Integer partitionKey : partitionKeys) archive(partitionKey);
+    }
+
+    /**
+     * Archives the transactions of one month key with their details, chunk by chunk. A failure leaves the chunks
+     * moved so far archived and the rest live, the next run picks up where this one stopped.
+     *
+     * @throws IllegalStateException when an archive table lacks a column of its live table
+     */
+    public void archive(int partitionKey) {
+        String transactionColumns = archiveColumns(TRANSACTION_TABLE);
+        String detailColumns = archiveColumns(DETAIL_TABLE);
+        int transactions = 0;
+        int details = 0;
+        List<Object[]> chunk;
+        while (!(chunk = nextChunk(partitionKey)).isEmpty()) {
+            long firstId = (Long) chunk.get(0)[0];
+            long lastId = (Long) chunk.get(chunk.size() - 1)[0];
+            List<Object[]> archived = chunk;
+            details += transactionTemplate.execute(status -> {
+                int moved = moveRows(DETAIL_TABLE, detailColumns, "transaction_id", partitionKey, firstId, lastId);
+                writeOutbox(archived);
+                moveRows(TRANSACTION_TABLE, transactionColumns, "id", partitionKey, firstId, lastId);
+                archived.forEach(row -> auditTrail.record(AuditAction.ARCHIVE, Transaction.class, row[0]));
+                return moved;
+            });
+            transactions += chunk.size();
+        }
+        log.info("Archived month {}: {} transactions, {} details", partitionKey, transactions, details);
+    }
+
+    private List<Object[]> nextChunk(int partitionKey) {
+        return jdbcTemplate.query(CHUNK_SQL, (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                partitionKey, chunkSize);
+    }
+
+    private int moveRows(String table, String columns, String idColumn, int partitionKey, long firstId, long lastId) {
+        String where = " WHERE partition_key = ? AND " + idColumn + " BETWEEN ? AND ?";
+        jdbcTemplate.update("INSERT INTO " + table + ARCHIVE_SUFFIX + " (" + columns + ") SELECT " + columns +
+                " FROM " + table + where, partitionKey, firstId, lastId);
+        return jdbcTemplate.update("DELETE FROM " + table + where, partitionKey, firstId, lastId);
+    }
+
+    private void writeOutbox(List<Object[]> archived) {
+        Timestamp createdAt = Timestamp.valueOf(appClock.nowUtc());
+        List<Object[]> rows = archived.stream()
+                .map(row -> new Object[]{row[1], Transaction.class.getSimpleName(), String.valueOf(row[0]),
+                        ChangeType.ARCHIVED.name(), createdAt})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(OUTBOX_SQL, rows);
+    }
+
+    /**
+     * Creates the archive table on first use and returns the column list of the live table, checked against it.
+     */
+    private String archiveColumns(String table) {
+        String archive = table + ARCHIVE_SUFFIX;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " AS SELECT * FROM " + table + " WHERE 1 = 0");
+        Set<String> live = columns(table);
+        Set<String> missing = new LinkedHashSet<>(live);
+        missing.removeAll(columns(archive));
+        if (!missing.isEmpty())
+            throw new IllegalStateException(archive + " lacks columns " + missing + " of " + table);
+        return String.join(", ", live);
+    }
+
+    private Set<String> columns(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> columns = new ArrayList<>();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (rs.next()) columns.add(rs.getString("COLUMN_NAME").toUpperCase());
+            }
+            return new LinkedHashSet<>(columns);
+        });
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.piinalpin.customsoftdeletes.repository;
+
+import com.piinalpin.customsoftdeletes.entity.BookCatalogue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookCatalogueRepository extends JpaRepository<BookCatalogue, Long> {
+
+    Page<BookCatalogue> findAllByTenantId(String tenantId, Pageable pageable);
+
+}
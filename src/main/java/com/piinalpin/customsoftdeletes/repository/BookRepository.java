@@ -2,8 +2,19 @@ package com.piinalpin.customsoftdeletes.repository;
 
 import com.piinalpin.customsoftdeletes.entity.Book;
 import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BookRepository extends SoftDeletesRepository<Book, Long> {
+
+    List<Book> findAllByTenantIdAndAuthorId(String tenantId, Long authorId);
+
+    /**
+     * Active books of every tenant after {@code id}, for keyset paging ordered by id.
+     */
+    List<Book> findAllByDeletedAtIsNullAndIdGreaterThan(Long id, Pageable pageable);
+
 }
@@ -2,13 +2,20 @@ package com.piinalpin.customsoftdeletes.repository;
 
 import com.piinalpin.customsoftdeletes.entity.TransactionDetail;
 import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionDetailRepository extends SoftDeletesRepository<TransactionDetail, Long> {
+public interface TransactionDetailRepository
+        extends SoftDeletesRepository<TransactionDetail, TransactionDetail.TransactionDetailId> {
 
-    List<TransactionDetail> findAllByTransactionId(Long transactionId);
+    @EntityGraph(attributePaths = {"transaction", "book"})
+    List<TransactionDetail> findAllByTenantIdAndTransactionId(String tenantId, Long transactionId);
+
+    @EntityGraph(attributePaths = {"transaction", "book"})
+    List<TransactionDetail> findAllByTenantIdAndTransactionIdIn(String tenantId, Collection<Long> transactionIds);
 
 }
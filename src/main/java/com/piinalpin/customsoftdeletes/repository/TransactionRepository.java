@@ -2,8 +2,24 @@ package com.piinalpin.customsoftdeletes.repository;
 
 import com.piinalpin.customsoftdeletes.entity.Transaction;
 import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface TransactionRepository extends SoftDeletesRepository<Transaction, Long> {
+
+    /**
+     * The partition key bounds let the database skip every month outside {@code [from, to)}.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.tenantId = :tenantId " +
+            "AND t.partitionKey BETWEEN :fromKey AND :toKey " +
+            "AND t.transactionDate >= :from AND t.transactionDate < :to ORDER BY t.transactionDate")
+    List<Transaction> findAllInRange(@Param("tenantId") String tenantId,
+                                     @Param("fromKey") int fromKey, @Param("toKey") int toKey,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
 }
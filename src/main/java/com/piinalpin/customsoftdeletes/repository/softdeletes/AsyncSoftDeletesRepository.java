@@ -0,0 +1,142 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.TransactionUtil;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking read facade over a {@link SoftDeletesRepository}. Queries run on a dedicated bounded executor, so
+ * request threads are released while JDBC blocks, and soft delete and tenant scoping stay exactly as in the
+ * repository. Concurrent lookups of the same id share one in-flight query, and each multi-get loads all ids
+ * that are not already in flight with a single {@code findAllById}. Writes to an id stop later lookups from
+ * joining a query that started before them, both when the write happens and again once it commits.
+ */
+@SuppressWarnings("java:S119")
+public class AsyncSoftDeletesRepository<T, ID extends Serializable> implements SoftDeletesListener {
+
+    private final SoftDeletesRepository<T, ID> repository;
+    private final Class<T> domainClass;
+    private final Function<T, ID> idOf;
+    private final Executor executor;
+    private final Map<Key, CompletableFuture<Optional<T>>> inFlight = new ConcurrentHashMap<>();
+
+    public AsyncSoftDeletesRepository(SoftDeletesRepository<T, ID> repository, Class<T> domainClass,
+                                      Function<T, ID> idOf, Executor executor) {
+        this.repository = repository;
+        this.domainClass = domainClass;
+        this.idOf = idOf;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<T>> findOne(ID id) {
+        return findAllById(Collections.singletonList(id)).thenApply(found -> Optional.ofNullable(found.get(id)));
+    }
+
+    public CompletableFuture<Page<T>> findAll(Pageable pageable) {
+        try {
+            return CompletableFuture.supplyAsync(() -> repository.findAll(pageable), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @return live entities by id in request order, missing or deleted ids are left out
+     */
+    public CompletableFuture<Map<ID, T>> findAllById(Collection<ID> ids) {
+        String tenant = TenantContext.currentTenant();
+        Map<ID, CompletableFuture<Optional<T>>> pending = new LinkedHashMap<>();
+        Map<ID, CompletableFuture<Optional<T>>> owned = new LinkedHashMap<>();
+        for (ID id : ids) {
+            if (pending.containsKey(id)) continue;
+            CompletableFuture<Optional<T>> created = new CompletableFuture<>();
+            CompletableFuture<Optional<T>> existing = inFlight.putIfAbsent(new Key(tenant, id), created);
+            if (existing == null) owned.put(id, created);
+            pending.put(id, existing == null ? created : existing);
+        }
+
+        if (!owned.isEmpty()) {
+            try {
+                executor.execute(() -> load(tenant, owned));
+            } catch (RejectedExecutionException e) {
+                fail(tenant, owned, e);
+            }
+        }
+
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    Map<ID, T> found = new LinkedHashMap<>();
+                    pending.forEach((id, future) -> future.join().ifPresent(entity -> found.put(id, entity)));
+                    return found;
+                });
+    }
+
+    @Override
+    public void afterSave(Class<?> domainClass, Object id, Object entity) {
+        invalidate(domainClass, id);
+    }
+
+    @Override
+    public void afterSoftDelete(Class<?> domainClass, Object id) {
+        invalidate(domainClass, id);
+    }
+
+    @Override
+    public void afterRestore(Class<?> domainClass, Object id) {
+        invalidate(domainClass, id);
+    }
+
+    @Override
+    public void afterHardDelete(Class<?> domainClass, Object id) {
+        invalidate(domainClass, id);
+    }
+
+    private void invalidate(Class<?> domainClass, Object id) {
+        if (domainClass != this.domainClass) return;
+        inFlight.keySet().removeIf(key -> key.getId().equals(id));
+        TransactionUtil.afterCommit(() -> inFlight.keySet().removeIf(key -> key.getId().equals(id)));
+    }
+
+    private void load(String tenant, Map<ID, CompletableFuture<Optional<T>>> owned) {
+        Map<ID, T> found = new HashMap<>();
+        try {
+            for (T entity : repository.findAllById(owned.keySet())) found.put(idOf.apply(entity), entity);
+        } catch (RuntimeException e) {
+            fail(tenant, owned, e);
+            return;
+        }
+        owned.forEach((id, future) -> {
+            future.complete(Optional.ofNullable(found.get(id)));
+            inFlight.remove(new Key(tenant, id), future);
+        });
+    }
+
+    private void fail(String tenant, Map<ID, CompletableFuture<Optional<T>>> owned, Exception e) {
+        owned.forEach((id, future) -> {
+            future.completeExceptionally(e);
+            inFlight.remove(new Key(tenant, id), future);
+        });
+    }
+
+    @Value
+    private static class Key {
+        String tenant;
+        Object id;
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.base.BaseEntity;
+import com.piinalpin.customsoftdeletes.entity.base.BaseEntityWithDeletedAt;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.TransactionUtil;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory last-modified watermark per table and per changed row, used to answer conditional GETs without a
+ * query. Every committed repository write takes the next value of a monotonic version counter, so two changes
+ * never share a tag whatever the clock resolution. Tables are seeded once at startup from
+ * {@code max(created_at, updated_at, deleted_at)}, rows untouched since then share the table seed.
+ *
+ * <p>Only writes through the soft deletes repositories of this instance move the watermark. Callers pass the
+ * aggregate root next to its cascaded children, since a cascaded child is only reported through its root.
+ */
+@Slf4j
+@Component
+public class ChangeWatermark implements SoftDeletesListener, SmartLifecycle {
+
+    /**
+     * Ahead of the embedded web server, which starts accepting requests in phase {@code Integer.MAX_VALUE - 1}.
+     */
+    private static final int SEED_PHASE = 0;
+
+    private final long bootId = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Class<?>, Long> seeds = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Stamp> tables = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Object, Stamp>> rows = new ConcurrentHashMap<>();
+    private final AppClock appClock;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    public ChangeWatermark(AppClock appClock, PlatformTransactionManager transactionManager) {
+        this.appClock = appClock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void start() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (EntityType<?> entity : em.getMetamodel().getEntities()) {
+                if (BaseEntity.class.isAssignableFrom(entity.getJavaType())) seeds.put(entity.getJavaType(), seed(entity));
+            }
+        });
+        log.info("Seeded change watermarks of {} tables", seeds.size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SEED_PHASE;
+    }
+
+    @Override
+    public void afterSave(Class<?> domainClass, Object id, Object entity) {
+        bump(domainClass, id);
+    }
+
+    @Override
+    public void afterSoftDelete(Class<?> domainClass, Object id) {
+        bump(domainClass, id);
+    }
+
+    @Override
+    public void afterRestore(Class<?> domainClass, Object id) {
+        bump(domainClass, id);
+    }
+
+    @Override
+    public void afterHardDelete(Class<?> domainClass, Object id) {
+        bump(domainClass, id);
+    }
+
+    /**
+     * Combined watermark of whole tables, e.g. a book list that also renders authors.
+     */
+    public Watermark table(Class<?>... domainClasses) {
+        StringBuilder etag = tag();
+        long lastModified = 0;
+        for (Class<?> domainClass : domainClasses) {
+            Stamp stamp = tables.get(domainClass);
+            etag.append('-').append(Long.toHexString(stamp == null ? 0 : stamp.getVersion()));
+            lastModified = Math.max(lastModified, stamp == null ? seeds.getOrDefault(domainClass, 0L) : stamp.getMillis());
+        }
+        return new Watermark(etag.append('"').toString(), lastModified);
+    }
+
+    /**
+     * Combined watermark of the rows sharing {@code id} in each of the given tables.
+     */
+    public Watermark row(Object id, Class<?>... domainClasses) {
+        StringBuilder etag = tag().append('-').append(id);
+        long lastModified = 0;
+        for (Class<?> domainClass : domainClasses) {
+            Stamp stamp = rows.getOrDefault(domainClass, Map.of()).get(id);
+            etag.append('-').append(Long.toHexString(stamp == null ? 0 : stamp.getVersion()));
+            lastModified = Math.max(lastModified, stamp == null ? seeds.getOrDefault(domainClass, 0L) : stamp.getMillis());
+        }
+        return new Watermark(etag.append('"').toString(), lastModified);
+    }
+
+    private StringBuilder tag() {
+        return new StringBuilder("\"").append(TenantContext.currentTenant()).append('-').append(Long.toHexString(bootId));
+    }
+
+    private void bump(Class<?> domainClass, Object id) {
+        TransactionUtil.afterCommit(() -> {
+            Stamp stamp = new Stamp(version.incrementAndGet(), appClock.now().toEpochMilli());
+            tables.merge(domainClass, stamp, ChangeWatermark::latest);
+            if (id != null)
+                rows.computeIfAbsent(domainClass, k -> new ConcurrentHashMap<>()).merge(id, stamp, ChangeWatermark::latest);
+        });
+    }
+
+    private static Stamp latest(Stamp a, Stamp b) {
+        return a.getVersion() >= b.getVersion() ? a : b;
+    }
+
+    private long seed(EntityType<?> entity) {
+        boolean softDeletes = BaseEntityWithDeletedAt.class.isAssignableFrom(entity.getJavaType());
+        String jpql = "SELECT MAX(e.createdAt), MAX(e.updatedAt)" + (softDeletes ? ", MAX(e.deletedAt)" : "") +
+                " FROM " + entity.getName() + " e";
+        long millis = 0;
+        for (Object max : em.createQuery(jpql, Object[].class).getSingleResult()) {
+            if (max != null) millis = Math.max(millis, ((LocalDateTime) max).toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return millis;
+    }
+
+    @Value
+    private static class Stamp {
+        long version;
+        long millis;
+    }
+
+    @Value
+    public static class Watermark {
+        String etag;
+        long lastModified;
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight for {@code findOne}. Concurrent lookups of the same id in the same tenant scope share one query,
+ * and with a batch window lookups of different ids arriving within the window are merged into one {@code IN}
+ * query run by the first caller.
+ *
+ * <p>The loader runs in its own short transaction, so waiting for a batch or for another caller's query never holds
+ * a connection. Every caller, including the one that ran the query, gets its own detached copy of the loaded
+ * entity, made once per caller. The copy is shallow: associated entities and lazy collections are shared with
+ * the other callers of the same lookup and must be treated as read-only.
+ */
+@SuppressWarnings("java:S119")
+final class FindOneCoalescer<T, ID> {
+
+    private final Function<List<ID>, List<T>> loader;
+    private final Function<T, Object> idOf;
+    private final UnaryOperator<T> snapshot;
+    private final long windowNanos;
+    private final Map<Key, CompletableFuture<Optional<T>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Scope, Batch<ID, T>> openBatches = new ConcurrentHashMap<>();
+
+    FindOneCoalescer(Function<List<ID>, List<T>> loader, Function<T, Object> idOf, UnaryOperator<T> snapshot,
+                     long windowMillis) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.snapshot = snapshot;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    Optional<T> findOne(ID id) {
+        Scope scope = new Scope(TenantContext.currentTenant(), TenantContext.isUnscoped());
+        CompletableFuture<Optional<T>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> existing = inFlight.putIfAbsent(new Key(scope, id), created);
+        if (existing != null) return await(existing).map(snapshot);
+
+        if (windowNanos == 0)
+            return Optional.ofNullable(load(scope, Collections.singletonMap(id, created)).get(id)).map(snapshot);
+
+        Batch<ID, T> batch;
+        CompletableFuture<Optional<T>> member;
+        while (true) {
+            batch = openBatches.computeIfAbsent(scope, s -> new Batch<>());
+            member = batch.join(id, created);
+            if (member != null) break;
+            openBatches.remove(scope, batch);
+        }
+        if (member != created) {
+            follow(new Key(scope, id), member, created);
+            return await(created).map(snapshot);
+        }
+        if (!batch.isLeader(created)) return await(created).map(snapshot);
+
+        LockSupport.parkNanos(windowNanos);
+        openBatches.remove(scope, batch);
+        return Optional.ofNullable(load(scope, batch.close()).get(id)).map(snapshot);
+    }
+
+    /**
+     * Stops handing out in-flight results for the id, later lookups query again.
+     */
+    void invalidate(Object id) {
+        inFlight.keySet().removeIf(key -> key.getId().equals(id));
+    }
+
+    /**
+     * Completes a lookup that found its id already in the open batch, which happens when the id was invalidated
+     * after joining, with the result of the batch member.
+     */
+    private void follow(Key key, CompletableFuture<Optional<T>> member, CompletableFuture<Optional<T>> follower) {
+        member.whenComplete((result, error) -> {
+            if (error != null) follower.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+            else follower.complete(result);
+            inFlight.remove(key, follower);
+        });
+    }
+
+    private Map<Object, T> load(Scope scope, Map<ID, CompletableFuture<Optional<T>>> members) {
+        Map<Object, T> found = new HashMap<>();
+        try {
+            for (T entity : loader.apply(new ArrayList<>(members.keySet()))) found.put(idOf.apply(entity), entity);
+        } catch (RuntimeException e) {
+            members.forEach((id, future) -> {
+                future.completeExceptionally(e);
+                inFlight.remove(new Key(scope, id), future);
+            });
+            throw e;
+        }
+        members.forEach((id, future) -> {
+            future.complete(Optional.ofNullable(found.get(id)));
+            inFlight.remove(new Key(scope, id), future);
+        });
+        return found;
+    }
+
+    private static <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static final class Batch<ID, T> {
+
+        private final Map<ID, CompletableFuture<Optional<T>>> members = new LinkedHashMap<>();
+        private CompletableFuture<Optional<T>> leader;
+        private boolean closed;
+
+        /**
+         * Adds the lookup to the batch. An id that is already a member keeps its future, so no waiter is lost.
+         *
+         * @return the future that will carry the result for the id, or {@code null} when the batch has already
+         * been loaded
+         */
+        synchronized CompletableFuture<Optional<T>> join(ID id, CompletableFuture<Optional<T>> future) {
+            if (closed) return null;
+            if (leader == null) leader = future;
+            CompletableFuture<Optional<T>> member = members.putIfAbsent(id, future);
+            return member == null ? future : member;
+        }
+
+        synchronized boolean isLeader(CompletableFuture<Optional<T>> future) {
+            return leader == future;
+        }
+
+        synchronized Map<ID, CompletableFuture<Optional<T>>> close() {
+            closed = true;
+            return members;
+        }
+
+    }
+
+    @Value
+    private static class Scope {
+        String tenant;
+        boolean unscoped;
+    }
+
+    @Value
+    private static class Key {
+        Scope scope;
+        Object id;
+    }
+
+}
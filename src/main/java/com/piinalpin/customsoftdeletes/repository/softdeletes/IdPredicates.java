@@ -0,0 +1,125 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builds id predicates for simple, {@code @IdClass} and {@code @EmbeddedId} identifiers. Id paths are resolved once
+ * per repository. {@code @IdClass} attributes mapped as associations compare the foreign key column directly.
+ */
+final class IdPredicates<T> {
+
+    private final List<IdPath> paths = new ArrayList<>();
+
+    IdPredicates(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        EntityType<T> entityType = em.getMetamodel().entity(entityInformation.getJavaType());
+
+        if (entityInformation.hasCompositeId()) {
+            for (String name : entityInformation.getIdAttributeNames()) {
+                Attribute<? super T, ?> attribute = entityType.getAttribute(name);
+                String[] path = attribute.isAssociation()
+                        ? new String[]{name, idAttributeName(attribute.getJavaType(), em)}
+                        : new String[]{name};
+                paths.add(new IdPath(path, id -> entityInformation.getCompositeIdAttributeValue(id, name)));
+            }
+            return;
+        }
+
+        SingularAttribute<? super T, ?> idAttribute = Objects.requireNonNull(entityInformation.getIdAttribute());
+        if (idAttribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.EMBEDDED) {
+            for (Attribute<?, ?> attribute : em.getMetamodel().embeddable(idAttribute.getJavaType()).getAttributes()) {
+                String name = attribute.getName();
+                paths.add(new IdPath(new String[]{idAttribute.getName(), name},
+                        id -> new DirectFieldAccessFallbackBeanWrapper(id).getPropertyValue(name)));
+            }
+            return;
+        }
+
+        paths.add(new IdPath(new String[]{idAttribute.getName()}, Function.identity()));
+    }
+
+    Predicate byId(CriteriaBuilder cb, Root<T> root, Object id) {
+        Predicate[] predicates = new Predicate[paths.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            IdPath idPath = paths.get(i);
+            predicates[i] = cb.equal(idPath.get(root), idPath.valueOf(id));
+        }
+        return predicates.length == 1 ? predicates[0] : cb.and(predicates);
+    }
+
+    /**
+     * Multi-column ids are grouped by their leading column, e.g. {@code (a = 1 AND b IN (2, 3)) OR (a = 4 AND b IN (5))},
+     * which every dialect can serve from the primary key index.
+     */
+    Predicate byIds(CriteriaBuilder cb, Root<T> root, Collection<?> ids) {
+        IdPath leading = paths.get(0);
+        if (paths.size() == 1) return leading.get(root).in(values(leading, ids));
+
+        Map<Object, List<Object>> groups = new LinkedHashMap<>();
+        for (Object id : ids) groups.computeIfAbsent(leading.valueOf(id), k -> new ArrayList<>()).add(id);
+
+        List<Predicate> disjunction = new ArrayList<>(groups.size());
+        for (Map.Entry<Object, List<Object>> group : groups.entrySet()) {
+            Predicate rest;
+            if (paths.size() == 2) {
+                IdPath second = paths.get(1);
+                rest = second.get(root).in(values(second, group.getValue()));
+            } else {
+                rest = cb.or(group.getValue().stream().map(id -> byId(cb, root, id)).toArray(Predicate[]::new));
+            }
+            disjunction.add(cb.and(cb.equal(leading.get(root), group.getKey()), rest));
+        }
+        return cb.or(disjunction.toArray(new Predicate[0]));
+    }
+
+    private static List<Object> values(IdPath idPath, Collection<?> ids) {
+        List<Object> values = new ArrayList<>(ids.size());
+        for (Object id : ids) values.add(idPath.valueOf(id));
+        return values;
+    }
+
+    private static String idAttributeName(Class<?> entityClass, EntityManager em) {
+        return Objects.requireNonNull(JpaEntityInformationSupport.getEntityInformation(entityClass, em).getIdAttribute())
+                .getName();
+    }
+
+    private static final class IdPath {
+
+        private final String[] path;
+        private final Function<Object, Object> extractor;
+
+        IdPath(String[] path, Function<Object, Object> extractor) {
+            this.path = path;
+            this.extractor = extractor;
+        }
+
+        Path<Object> get(Root<?> root) {
+            Path<Object> result = root.get(path[0]);
+            for (int i = 1; i < path.length; i++) result = result.get(path[i]);
+            return result;
+        }
+
+        Object valueOf(Object id) {
+            return extractor.apply(id);
+        }
+
+    }
+
+}
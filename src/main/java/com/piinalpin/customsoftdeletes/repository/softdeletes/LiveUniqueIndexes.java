@@ -0,0 +1,138 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.entity.base.BaseEntityWithDeletedAt;
+import com.piinalpin.customsoftdeletes.entity.base.LiveUnique;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Installs the {@link LiveUnique} keys of every soft deletable entity after Hibernate created the schema. Runs as a
+ * lifecycle phase once the context is refreshed, so a deferred {@link EntityManagerFactory} bootstrap is awaited
+ * there instead of being forced while beans are still created.
+ *
+ * <p>Databases with partial indexes get {@code CREATE UNIQUE INDEX ... WHERE deleted_at IS NULL}, so tombstones
+ * are not indexed at all. H2 and MySQL/MariaDB instead get a generated {@code live_marker} column that is 1 for live
+ * rows and NULL for deleted ones, appended to the key, since their unique indexes let any number of rows share a key
+ * that contains a NULL. That does not hold everywhere, Oracle for one treats such keys as equal, so any other
+ * database fails startup instead of getting a key that would reject a second tombstone.
+ */
+@Slf4j
+@Component
+public class LiveUniqueIndexes implements SmartLifecycle {
+
+    /**
+     * Ahead of the projections rebuilt in phase {@code 0} and of the embedded web server.
+     */
+    private static final int INSTALL_PHASE = -1;
+
+    private static final String DELETED_COLUMN = "deleted_at";
+    private static final String MARKER_COLUMN = "live_marker";
+    private static final Set<String> PARTIAL_INDEX_DATABASES = Set.of("PostgreSQL", "Microsoft SQL Server", "SQLite");
+    private static final Set<String> NULL_DISTINCT_DATABASES = Set.of("H2", "MySQL", "MariaDB");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean running;
+
+    @Autowired
+    public LiveUniqueIndexes(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void start() {
+        install();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return INSTALL_PHASE;
+    }
+
+    void install() {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> javaType = entity.getJavaType();
+            Set<LiveUnique> keys = AnnotatedElementUtils.findMergedRepeatableAnnotations(javaType, LiveUnique.class);
+            if (keys.isEmpty()) continue;
+            if (!BaseEntityWithDeletedAt.class.isAssignableFrom(javaType))
+                throw new IllegalStateException(javaType.getName() + " declares @LiveUnique but does not support soft deletes");
+
+            String table = javaType.getAnnotation(Table.class).name();
+            for (LiveUnique key : keys) jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                install(connection.getMetaData(), table, key);
+                return null;
+            });
+        }
+    }
+
+    private void install(DatabaseMetaData metaData, String table, LiveUnique key) throws SQLException {
+        if (indexes(metaData, table).contains(identifier(metaData, key.name()))) return;
+
+        String columns = String.join(", ", key.columns());
+        String database = metaData.getDatabaseProductName();
+        String sql;
+        if (PARTIAL_INDEX_DATABASES.contains(database)) {
+            sql = String.format("CREATE UNIQUE INDEX %s ON %s (%s) WHERE %s IS NULL",
+                    key.name(), table, columns, DELETED_COLUMN);
+        } else if (NULL_DISTINCT_DATABASES.contains(database)) {
+            if (!hasColumn(metaData, table, MARKER_COLUMN))
+                jdbcTemplate.execute(String.format("ALTER TABLE %s ADD COLUMN %s TINYINT AS (CASE WHEN %s IS NULL THEN 1 END)",
+                        table, MARKER_COLUMN, DELETED_COLUMN));
+            sql = String.format("CREATE UNIQUE INDEX %s ON %s (%s, %s)", key.name(), table, columns, MARKER_COLUMN);
+        } else {
+            throw new IllegalStateException(String.format("Live unique key %s on %s is not supported on %s",
+                    key.name(), table, database));
+        }
+        jdbcTemplate.execute(sql);
+        log.info("Installed live unique key {} on {} ({})", key.name(), table, Arrays.toString(key.columns()));
+    }
+
+    private static Set<String> indexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, identifier(metaData, table), true, true)) {
+            while (rs.next()) names.add(rs.getString("INDEX_NAME"));
+        }
+        return names;
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet rs = metaData.getColumns(null, null, identifier(metaData, table), identifier(metaData, column))) {
+            return rs.next();
+        }
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) return name.toUpperCase(Locale.ROOT);
+        if (metaData.storesLowerCaseIdentifiers()) return name.toLowerCase(Locale.ROOT);
+        return name;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+/**
+ * Callback invoked by {@link SoftDeletesRepositoryImpl} after each write, inside the caller's transaction.
+ * Soft delete and restore run as bulk updates, so this is the only hook that observes them.
+ */
+public interface SoftDeletesListener {
+
+    default void afterSave(Class<?> domainClass, Object id, Object entity) {}
+
+    default void afterSoftDelete(Class<?> domainClass, Object id) {}
+
+    default void afterRestore(Class<?> domainClass, Object id) {}
+
+    default void afterHardDelete(Class<?> domainClass, Object id) {}
+
+}
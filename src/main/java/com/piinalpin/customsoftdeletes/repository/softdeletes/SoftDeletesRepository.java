@@ -9,6 +9,7 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 
 import javax.transaction.Transactional;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Optional;
 
 @SuppressWarnings("java:S119")
@@ -25,6 +26,14 @@ public interface SoftDeletesRepository<T, ID extends Serializable> extends Pagin
     @Override
     Page<T> findAll(Pageable page);
 
+    @Override
+    List<T> findAllById(Iterable<ID> ids);
+
+    /**
+     * Joins the caller's transaction but never starts one, concurrent lookups outside a transaction are coalesced
+     * before any connection is taken.
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
     Optional<T> findOne(ID id);
 
     @Modifying
@@ -34,6 +43,13 @@ public interface SoftDeletesRepository<T, ID extends Serializable> extends Pagin
     @Modifying
     void delete(T entity);
 
+    @Override
+    @Modifying
+    void deleteAllById(Iterable<? extends ID> ids);
+
     void hardDelete(T entity);
 
+    @Modifying
+    void restore(ID id);
+
 }
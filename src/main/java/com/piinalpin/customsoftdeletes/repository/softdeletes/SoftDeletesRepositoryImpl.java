@@ -1,83 +1,348 @@
 package com.piinalpin.customsoftdeletes.repository.softdeletes;
 
+import com.piinalpin.customsoftdeletes.audit.AuditAction;
+import com.piinalpin.customsoftdeletes.audit.AuditTrail;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.base.BaseEntity;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.TransactionUtil;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
-import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
 import javax.persistence.criteria.*;
 import javax.transaction.Transactional;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("java:S119")
 public class SoftDeletesRepositoryImpl<T, ID extends Serializable> extends SimpleJpaRepository<T, ID>
         implements SoftDeletesRepository<T, ID> {
 
     private final JpaEntityInformation<T, ?> entityInformation;
+    private final IdPredicates<T> idPredicates;
     private final EntityManager em;
     private final Class<T> domainClass;
+    private final AuditTrail auditTrail;
+    private final AppClock appClock;
+    private final ObjectProvider<SoftDeletesListener> listenerProvider;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final FindOneCoalescer<T, ID> coalescer;
+    private final boolean softDeletable;
+    private final boolean tenantScoped;
+    private volatile List<SoftDeletesListener> listeners;
+    private volatile TransactionTemplate readOnlyTransaction;
     private static final String DELETED_FIELD = "deletedAt";
-
-    public SoftDeletesRepositoryImpl(Class<T> domainClass, EntityManager em) {
-        super(domainClass, em);
+    private static final String TENANT_FIELD = "tenantId";
+    private static final String UPDATED_FIELD = "updatedAt";
+    private static final int ID_BATCH_SIZE = 500;
+
+    public SoftDeletesRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager em, AuditTrail auditTrail,
+                                     AppClock appClock, ObjectProvider<SoftDeletesListener> listenerProvider,
+                                     ObjectProvider<PlatformTransactionManager> transactionManager,
+                                     long coalesceWindowMillis) {
+        super(entityInformation, em);
         this.em = em;
-        this.domainClass = domainClass;
-        this.entityInformation = JpaEntityInformationSupport.getEntityInformation(domainClass, em);
+        this.domainClass = entityInformation.getJavaType();
+        this.auditTrail = auditTrail;
+        this.appClock = appClock;
+        this.listenerProvider = listenerProvider;
+        this.entityInformation = entityInformation;
+        this.softDeletable = hasDeletedAtField(domainClass);
+        this.tenantScoped = BaseEntity.class.isAssignableFrom(domainClass);
+        this.idPredicates = new IdPredicates<>(entityInformation, em);
+        this.transactionManager = transactionManager;
+        this.coalescer = new FindOneCoalescer<>(this::findAllByIdReadOnly, entityInformation::getId, this::snapshot,
+                coalesceWindowMillis);
     }
 
     @Override
     public List<T> findAll(){
-        if (isFieldDeletedAtExists()) return super.findAll(notDeleted());
-        return super.findAll();
+        return super.findAll(scoped(null));
     }
 
     @Override
     public List<T> findAll(Sort sort){
-        if (isFieldDeletedAtExists()) return super.findAll(notDeleted(), sort);
-        return super.findAll(sort);
+        return super.findAll(scoped(null), sort);
     }
 
     @Override
     public Page<T> findAll(Pageable page) {
-        if (isFieldDeletedAtExists()) return super.findAll(notDeleted(), page);
-        return super.findAll(page);
+        return super.findAll(scoped(null), page);
+    }
+
+    @Override
+    public long count() {
+        return super.count(scoped(null));
+    }
+
+    /**
+     * Unlike {@link #findOne}, also finds soft deleted rows, but only those of the current tenant.
+     */
+    @Override
+    public Optional<T> findById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return super.findOne(tenantScoped(new ByIdSpecification<>(idPredicates, id)));
     }
 
+    @Override
+    public boolean existsById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return super.count(tenantScoped(new ByIdSpecification<>(idPredicates, id))) > 0;
+    }
+
+    /**
+     * Loads the row instead of returning a lazy reference, since a reference cannot be checked against the tenant.
+     */
+    @Override
+    public T getById(ID id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException(
+                String.format("No %s entity with id %s exists!", entityInformation.getJavaType(), id)));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "Ids must not be null!");
+
+        List<T> result = new ArrayList<>();
+        for (List<ID> chunk : chunks(ids)) {
+            result.addAll(super.findAll(scoped(new ByIdsSpecification<>(idPredicates, chunk))));
+        }
+        return result;
+    }
+
+    /**
+     * Lookups made outside a caller's transaction are coalesced, inside one they always read through the
+     * caller's persistence context. Coalesced results are detached copies whose associations are shared with
+     * concurrent callers, see {@link FindOneCoalescer}.
+     */
     @Override
     public Optional<T> findOne(ID id) {
-        if (isFieldDeletedAtExists())
-            return super.findOne(Specification.where(new ByIdSpecification<>(entityInformation, id)).and(notDeleted()));
-        return super.findOne(Specification.where(new ByIdSpecification<>(entityInformation, id)));
+        Assert.notNull(id, "The given id must not be null!");
+        return callerHasTransaction() ? findLive(id) : coalescer.findOne(id);
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> S save(S entity) {
+        S saved = super.save(entity);
+        Object id = entityInformation.getId(saved);
+        invalidate(id);
+        notifyListeners(listener -> listener.afterSave(domainClass, id, saved));
+        return saved;
     }
 
     @Override
     @Transactional
     public void delete(ID id) {
-        softDelete(id, LocalDateTime.now());
+        softDelete(id, appClock.nowUtc());
     }
 
     @Override
     @Transactional
     public void delete(T entity) {
-        softDelete(entity, LocalDateTime.now());
+        softDelete(entity, appClock.nowUtc());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        Assert.notNull(ids, "Ids must not be null!");
+
+        if (!isFieldDeletedAtExists()) {
+            for (List<ID> chunk : SoftDeletesRepositoryImpl.<ID>chunks(ids)) findAllById(chunk).forEach(this::hardDelete);
+            return;
+        }
+
+        LocalDateTime localDateTime = appClock.nowUtc();
+        for (List<ID> chunk : SoftDeletesRepositoryImpl.<ID>chunks(ids)) {
+            List<Object> liveIds = findAllById(chunk).stream()
+                    .map(entityInformation::getId)
+                    .collect(Collectors.toList());
+            if (liveIds.isEmpty()) continue;
+
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            CriteriaUpdate<T> update = cb.createCriteriaUpdate(domainClass);
+
+            Root<T> root = update.from(domainClass);
+
+            update.set(DELETED_FIELD, localDateTime);
+
+            update.where(withTenant(cb, root,
+                    idPredicates.byIds(cb, root, liveIds),
+                    cb.isNull(root.<LocalDateTime>get(DELETED_FIELD))
+            ));
+
+            em.createQuery(update).executeUpdate();
+
+            for (Object id : liveIds) {
+                invalidate(id);
+                auditTrail.record(AuditAction.SOFT_DELETE, domainClass, id);
+                notifyListeners(listener -> listener.afterSoftDelete(domainClass, id));
+            }
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void hardDelete(T entity) {
-        super.delete(entity);
+        Assert.notNull(entity, "The entity must not be null!");
+        if (entityInformation.isNew(entity)) return;
+
+        ID id = (ID) entityInformation.getId(entity);
+        T existing = findById(id).orElseThrow(() -> new EmptyResultDataAccessException(
+                String.format("No %s entity with id %s exists!", entityInformation.getJavaType(), id), 1));
+        em.remove(existing);
+        invalidate(id);
+        notifyListeners(listener -> listener.afterHardDelete(domainClass, id));
+    }
+
+    @Override
+    @Transactional
+    public void restore(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        Assert.state(isFieldDeletedAtExists(),
+                String.format("%s entity does not support soft deletes!", entityInformation.getJavaType()));
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(domainClass);
+
+        Root<T> root = update.from(domainClass);
+
+        update.set(root.<LocalDateTime>get(DELETED_FIELD), cb.nullLiteral(LocalDateTime.class));
+        if (tenantScoped) update.set(root.<LocalDateTime>get(UPDATED_FIELD), appClock.nowUtc());
+
+        update.where(withTenant(cb, root,
+                idPredicates.byId(cb, root, id),
+                cb.isNotNull(root.<LocalDateTime>get(DELETED_FIELD))
+        ));
+
+        if (em.createQuery(update).executeUpdate() == 0)
+            throw new EmptyResultDataAccessException(
+                    String.format("No deleted %s entity with id %s exists!", entityInformation.getJavaType(), id), 1);
+
+        invalidate(id);
+        auditTrail.record(AuditAction.RESTORE, domainClass, id);
+        notifyListeners(listener -> listener.afterRestore(domainClass, id));
+    }
+
+    private Optional<T> findLive(ID id) {
+        return super.findOne(scoped(new ByIdSpecification<>(idPredicates, id)));
+    }
+
+    private static boolean callerHasTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Batch loader of the coalescer. {@code findOne} itself only supports a transaction, so a short one is opened
+     * here and no connection is held while callers wait for each other.
+     */
+    private List<T> findAllByIdReadOnly(List<ID> ids) {
+        TransactionTemplate template = this.readOnlyTransaction;
+        if (template == null) {
+            template = new TransactionTemplate(transactionManager.getObject());
+            template.setReadOnly(true);
+            this.readOnlyTransaction = template;
+        }
+        return template.execute(status -> findAllById(ids));
+    }
+
+    /**
+     * Drops in-flight lookups now and again once the change is visible to other transactions.
+     */
+    private void invalidate(Object id) {
+        coalescer.invalidate(id);
+        TransactionUtil.afterCommit(() -> coalescer.invalidate(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T snapshot(T entity) {
+        T source = (T) Hibernate.unproxy(entity);
+        T copy = BeanUtils.instantiateClass((Class<T>) source.getClass());
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private void notifyListeners(Consumer<SoftDeletesListener> callback) {
+        List<SoftDeletesListener> resolved = this.listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().collect(Collectors.toList());
+            this.listeners = resolved;
+        }
+        resolved.forEach(callback);
+    }
+
+    private static <I> List<List<I>> chunks(Iterable<? extends I> ids) {
+        List<List<I>> chunks = new ArrayList<>();
+        List<I> chunk = new ArrayList<>(ID_BATCH_SIZE);
+        for (I id : ids) {
+            chunk.add(id);
+            if (chunk.size() == ID_BATCH_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(ID_BATCH_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) chunks.add(chunk);
+        return chunks;
+    }
+
+    private boolean isTenantAware() {
+        return tenantScoped && !TenantContext.isUnscoped();
+    }
+
+    /**
+     * Restricts the given specification to rows of the current tenant, live or not.
+     */
+    private Specification<T> tenantScoped(Specification<T> spec) {
+        Specification<T> scoped = Specification.where(spec);
+        if (isTenantAware()) scoped = scoped.and(new TenantIs<>(TenantContext.currentTenant()));
+        return scoped;
+    }
+
+    /**
+     * Restricts the given specification to live rows of the current tenant.
+     */
+    private Specification<T> scoped(Specification<T> spec) {
+        Specification<T> scoped = tenantScoped(spec);
+        if (isFieldDeletedAtExists()) scoped = scoped.and(notDeleted());
+        return scoped;
+    }
+
+    private Predicate[] withTenant(CriteriaBuilder cb, Root<T> root, Predicate... predicates) {
+        if (!isTenantAware()) return predicates;
+        Predicate[] scoped = Arrays.copyOf(predicates, predicates.length + 1);
+        scoped[predicates.length] = cb.equal(root.<String>get(TENANT_FIELD), TenantContext.currentTenant());
+        return scoped;
     }
 
     private boolean isFieldDeletedAtExists() {
+        return softDeletable;
+    }
+
+    private static boolean hasDeletedAtField(Class<?> domainClass) {
         try {
             domainClass.getSuperclass().getDeclaredField(DELETED_FIELD);
             return true;
@@ -89,7 +354,7 @@ public class SoftDeletesRepositoryImpl<T, ID extends Serializable> extends Simpl
     private void softDelete(ID id, LocalDateTime localDateTime) {
         Assert.notNull(id, "The given id must not be null!");
 
-        Optional<T> entity = findOne(id);
+        Optional<T> entity = findLive(id);
 
         if (entity.isEmpty())
             throw new EmptyResultDataAccessException(
@@ -101,6 +366,13 @@ public class SoftDeletesRepositoryImpl<T, ID extends Serializable> extends Simpl
     private void softDelete(T entity, LocalDateTime localDateTime) {
         Assert.notNull(entity, "The entity must not be null!");
 
+        if (!isFieldDeletedAtExists()) {
+            hardDelete(entity);
+            return;
+        }
+
+        Object id = entityInformation.getId(entity);
+
         CriteriaBuilder cb = em.getCriteriaBuilder();
 
         CriteriaUpdate<T> update = cb.createCriteriaUpdate(domainClass);
@@ -109,33 +381,65 @@ public class SoftDeletesRepositoryImpl<T, ID extends Serializable> extends Simpl
 
         update.set(DELETED_FIELD, localDateTime);
 
-        update.where(
-                cb.equal(
-                        root.<ID>get(Objects.requireNonNull(entityInformation.getIdAttribute()).getName()),
-                        entityInformation.getId(entity)
-                )
-        );
+        update.where(withTenant(cb, root, idPredicates.byId(cb, root, id)));
 
         em.createQuery(update).executeUpdate();
+
+        invalidate(id);
+        auditTrail.record(AuditAction.SOFT_DELETE, domainClass, id);
+        notifyListeners(listener -> listener.afterSoftDelete(domainClass, id));
     }
 
     private static final class ByIdSpecification<T, ID> implements Specification<T> {
 
         private static final long serialVersionUID = 6523470832851906115L;
-        private final transient JpaEntityInformation<T, ?> entityInformation;
+        private final transient IdPredicates<T> idPredicates;
         private final transient ID id;
 
-        ByIdSpecification(JpaEntityInformation<T, ?> entityInformation, ID id) {
-            this.entityInformation = entityInformation;
+        ByIdSpecification(IdPredicates<T> idPredicates, ID id) {
+            this.idPredicates = idPredicates;
             this.id = id;
         }
 
         @Override
         public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-            return cb.equal(root.<ID>get(Objects.requireNonNull(entityInformation.getIdAttribute()).getName()), id);
+            return idPredicates.byId(cb, root, id);
+        }
+    }
+
+    private static final class ByIdsSpecification<T, ID> implements Specification<T> {
+
+        private static final long serialVersionUID = -2783604263592151839L;
+        private final transient IdPredicates<T> idPredicates;
+        private final transient Collection<ID> ids;
+
+        ByIdsSpecification(IdPredicates<T> idPredicates, Collection<ID> ids) {
+            this.idPredicates = idPredicates;
+            this.ids = ids;
+        }
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+            return idPredicates.byIds(cb, root, ids);
         }
     }
 
+    private static final class TenantIs<T> implements Specification<T> {
+
+        private static final long serialVersionUID = 3389190146410316227L;
+        private final String tenantId;
+
+        TenantIs(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.equal(root.<String>get(TENANT_FIELD), tenantId);
+        }
+
+    }
+
     private static final class DeletedIsNUll<T> implements Specification<T> {
 
         private static final long serialVersionUID = -940322276301888908L;
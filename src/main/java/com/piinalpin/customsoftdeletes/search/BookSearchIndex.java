@@ -0,0 +1,255 @@
+package com.piinalpin.customsoftdeletes.search;
+
+import com.piinalpin.customsoftdeletes.entity.Author;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.repository.BookRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesListener;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded Lucene index over active books, searchable by title and author name. Rebuilt as a lifecycle phase
+ * ahead of the web server, so no search sees a partial index, and kept in sync after each committed save, soft
+ * delete and restore. Live updates hold the shared side of {@link #rebuildLock}, so changes committed while a
+ * rebuild runs are applied after it instead of being wiped by it.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex implements SoftDeletesListener, SmartLifecycle {
+
+    /**
+     * Ahead of the embedded web server, which starts accepting requests in phase {@code Integer.MAX_VALUE - 1}.
+     */
+    private static final int REBUILD_PHASE = 0;
+
+    private static final String ID = "id";
+    private static final String TENANT = "tenant_id";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String[] FIELDS = {TITLE, AUTHOR};
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 2.0f, AUTHOR, 1.0f);
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final BookRepository bookRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean running;
+
+    @Autowired
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @Override
+    public void start() {
+        try {
+            rebuild();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return REBUILD_PHASE;
+    }
+
+    /**
+     * Reindexes the active books of every tenant, paging by id so rows changing meanwhile never shift a page.
+     */
+    public void rebuild() throws IOException {
+        rebuildLock.writeLock().lock();
+        try {
+            writer.deleteAll();
+            Pageable page = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by(ID));
+            long lastId = 0;
+            int books = 0;
+            List<Book> chunk;
+            do {
+                chunk = bookRepository.findAllByDeletedAtIsNullAndIdGreaterThan(lastId, page);
+                for (Book book : chunk) {
+                    writer.addDocument(toDocument(book));
+                    lastId = book.getId();
+                }
+                books += chunk.size();
+            } while (chunk.size() == REBUILD_PAGE_SIZE);
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Book search index rebuilt with {} books", books);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search within the current tenant, returns book ids ordered by relevance. Pages ending past the
+     * first {@value #MAX_RESULT_WINDOW} hits are rejected, since collecting them means scoring every hit before.
+     */
+    public Page<Long> search(String text, Pageable pageable) throws ParseException, IOException {
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW)
+            throw new IllegalArgumentException(
+                    String.format("Search pages must end within the first %d results!", MAX_RESULT_WINDOW));
+
+        Query query = new BooleanQuery.Builder()
+                .add(new MultiFieldQueryParser(FIELDS, analyzer, BOOSTS).parse(QueryParser.escape(text)), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(TENANT, TenantContext.currentTenant())), BooleanClause.Occur.FILTER)
+                .build();
+        int offset = (int) pageable.getOffset();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, offset + pageable.getPageSize());
+            List<Long> ids = new ArrayList<>(pageable.getPageSize());
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length; i++) {
+                ids.add(Long.valueOf(searcher.doc(scoreDocs[i].doc).get(ID)));
+            }
+            return new PageImpl<>(ids, pageable, topDocs.totalHits.value);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void afterSave(Class<?> domainClass, Object id, Object entity) {
+        if (domainClass == Book.class) {
+            Document document = toDocument((Book) entity);
+            TransactionUtil.afterCommit(() -> update(id, document));
+        } else if (domainClass == Author.class) {
+            String tenantId = ((Author) entity).getTenantId();
+            TransactionUtil.afterCommit(() -> reindexAuthor(tenantId, (Long) id));
+        }
+    }
+
+    @Override
+    public void afterSoftDelete(Class<?> domainClass, Object id) {
+        if (domainClass == Book.class) TransactionUtil.afterCommit(() -> remove(id));
+        else if (domainClass == Author.class) reindexAuthorAfterCommit((Long) id);
+    }
+
+    @Override
+    public void afterRestore(Class<?> domainClass, Object id) {
+        if (domainClass == Book.class)
+            TransactionUtil.afterCommit(() -> bookRepository.findOne((Long) id)
+                    .ifPresent(book -> update(id, toDocument(book))));
+        else if (domainClass == Author.class) reindexAuthorAfterCommit((Long) id);
+    }
+
+    @Override
+    public void afterHardDelete(Class<?> domainClass, Object id) {
+        if (domainClass == Book.class) TransactionUtil.afterCommit(() -> remove(id));
+    }
+
+    private void reindexAuthorAfterCommit(Long authorId) {
+        String tenantId = TenantContext.currentTenant();
+        TransactionUtil.afterCommit(() -> reindexAuthor(tenantId, authorId));
+    }
+
+    private void reindexAuthor(String tenantId, Long authorId) {
+        for (Book book : bookRepository.findAllByTenantIdAndAuthorId(tenantId, authorId)) {
+            if (book.getDeletedAt() == null) update(book.getId(), toDocument(book));
+        }
+    }
+
+    private void update(Object id, Document document) {
+        rebuildLock.readLock().lock();
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void remove(Object id) {
+        rebuildLock.readLock().lock();
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static Document toDocument(Book book) {
+        Document document = new Document();
+        document.add(new StringField(ID, book.getId().toString(), Field.Store.YES));
+        document.add(new StringField(TENANT, book.getTenantId(), Field.Store.NO));
+        document.add(new TextField(TITLE, book.getTitle(), Field.Store.NO));
+        Author author = book.getAuthor();
+        if (author != null && author.getDeletedAt() == null) {
+            document.add(new TextField(AUTHOR, author.getFullName(), Field.Store.NO));
+        }
+        return document;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.piinalpin.customsoftdeletes.constant.AppConstant;
 import com.piinalpin.customsoftdeletes.entity.Author;
 import com.piinalpin.customsoftdeletes.http.dto.AuthorRequest;
 import com.piinalpin.customsoftdeletes.repository.AuthorRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.ChangeWatermark;
 import com.piinalpin.customsoftdeletes.util.ResponseUtil;
 
 import lombok.extern.slf4j.Slf4j;
@@ -11,16 +12,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 
 @Slf4j
 @Service
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final ChangeWatermark changeWatermark;
 
     @Autowired
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, ChangeWatermark changeWatermark) {
         this.authorRepository = authorRepository;
+        this.changeWatermark = changeWatermark;
     }
 
     public ResponseEntity<Object> save(AuthorRequest request) {
@@ -36,9 +40,12 @@ public class AuthorService {
         }
     }
 
-    public ResponseEntity<Object> getAll() {
+    public ResponseEntity<Object> getAll(WebRequest webRequest) {
         log.info("Get all author");
-        return ResponseEntity.ok().body(authorRepository.findAll());
+        ChangeWatermark.Watermark watermark = changeWatermark.table(Author.class);
+        if (webRequest.checkNotModified(watermark.getEtag(), watermark.getLastModified())) return null;
+
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, authorRepository.findAll(), HttpStatus.OK);
     }
 
 }
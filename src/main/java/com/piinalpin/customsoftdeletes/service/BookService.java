@@ -1,5 +1,6 @@
 package com.piinalpin.customsoftdeletes.service;
 
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
 import com.piinalpin.customsoftdeletes.entity.Author;
 import com.piinalpin.customsoftdeletes.entity.Book;
 import com.piinalpin.customsoftdeletes.entity.BookDetail;
@@ -7,14 +8,36 @@ import com.piinalpin.customsoftdeletes.http.dto.BookRequest;
 import com.piinalpin.customsoftdeletes.repository.AuthorRepository;
 import com.piinalpin.customsoftdeletes.repository.BookDetailRepository;
 import com.piinalpin.customsoftdeletes.repository.BookRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.AsyncSoftDeletesRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.ChangeWatermark;
+import com.piinalpin.customsoftdeletes.search.BookSearchIndex;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.queryparser.classic.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,13 +46,21 @@ public class BookService {
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
     private final BookDetailRepository bookDetailRepository;
+    private final ChangeWatermark changeWatermark;
+    private final BookSearchIndex bookSearchIndex;
+    private final AsyncSoftDeletesRepository<BookDetail, Long> asyncBookDetailRepository;
 
     @Autowired
     public BookService(AuthorRepository authorRepository, BookRepository bookRepository,
-                       BookDetailRepository bookDetailRepository) {
+                       BookDetailRepository bookDetailRepository, ChangeWatermark changeWatermark,
+                       BookSearchIndex bookSearchIndex,
+                       AsyncSoftDeletesRepository<BookDetail, Long> asyncBookDetailRepository) {
         this.authorRepository = authorRepository;
         this.bookRepository = bookRepository;
         this.bookDetailRepository = bookDetailRepository;
+        this.changeWatermark = changeWatermark;
+        this.bookSearchIndex = bookSearchIndex;
+        this.asyncBookDetailRepository = asyncBookDetailRepository;
     }
 
     public ResponseEntity<Object> addBook(BookRequest request) {
@@ -37,7 +68,7 @@ public class BookService {
 
         log.info("Find author by author id");
         Optional<Author> author = authorRepository.findOne(request.getAuthorId());
-        if (author.isEmpty()) return ResponseEntity.notFound().build();
+        if (author.isEmpty()) return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.NOT_FOUND);
 
         Book book = Book.builder()
                 .author(author.get())
@@ -48,19 +79,74 @@ public class BookService {
                 .title(request.getTitle())
                 .price(request.getPrice())
                 .build();
-        return ResponseEntity.ok().body(bookRepository.save(book));
+        try {
+            return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, bookRepository.save(book), HttpStatus.OK);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Duplicate book. Error: {}", e.getMessage());
+            return ResponseUtil.build(AppConstant.ResponseCode.DUPLICATE_DATA, null, HttpStatus.CONFLICT);
+        }
+    }
+
+    public ResponseEntity<Object> getAllBook(WebRequest webRequest) {
+        ChangeWatermark.Watermark watermark = changeWatermark.table(Book.class, Author.class);
+        if (webRequest.checkNotModified(watermark.getEtag(), watermark.getLastModified())) return null;
+
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, bookRepository.findAll(), HttpStatus.OK);
     }
 
-    public ResponseEntity<Object> getAllBook() {
-        return ResponseEntity.ok().body(bookRepository.findAll());
+    public ResponseEntity<Object> searchBook(String text, Pageable pageable) {
+        log.info("Search book: {}", text);
+        Page<Long> ids;
+        try {
+            ids = bookSearchIndex.search(text, pageable);
+        } catch (ParseException | IOException | IllegalArgumentException e) {
+            log.error("Search failed. Error: {}", e.getMessage());
+            return ResponseUtil.build(AppConstant.ResponseCode.UNKNOWN_ERROR, null, HttpStatus.BAD_REQUEST);
+        }
+
+        Map<Long, Book> books = bookRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> ranked = ids.getContent().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                new PageImpl<>(ranked, pageable, ids.getTotalElements()), HttpStatus.OK);
     }
 
-    public ResponseEntity<Object> getBookDetail(Long bookId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookDetail(Long bookId, WebRequest webRequest) {
         log.info("Find book detail by book id: {}", bookId);
-        Optional<BookDetail> bookDetail = bookDetailRepository.findOne(bookId);
-        if (bookDetail.isEmpty()) return ResponseEntity.badRequest().body(Map.ofEntries(Map.entry("message", "Data not found")));
+        ChangeWatermark.Watermark watermark = changeWatermark.row(bookId, BookDetail.class, Book.class);
+        if (webRequest.checkNotModified(watermark.getEtag(), watermark.getLastModified()))
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        return asyncBookDetailRepository.findOne(bookId).thenApply(bookDetail -> {
+            if (bookDetail.isEmpty()) return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
+
+            return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, bookDetail.get(), HttpStatus.OK);
+        }).exceptionally(BookService::busyOrRethrow);
+    }
 
-        return ResponseEntity.ok().body(bookDetail.get());
+    public CompletableFuture<ResponseEntity<Object>> getBookDetails(List<Long> bookIds) {
+        log.info("Find book details by book ids: {}", bookIds);
+        return asyncBookDetailRepository.findAllById(bookIds)
+                .thenApply(bookDetails -> ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                        bookDetails.values(), HttpStatus.OK))
+                .exceptionally(BookService::busyOrRethrow);
+    }
+
+    /**
+     * Answers {@code 503} when the read executor rejected the lookup, like the admission control does for writes.
+     */
+    private static ResponseEntity<Object> busyOrRethrow(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof RejectedExecutionException))
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+
+        log.warn("Read executor is saturated. Error: {}", cause.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ResponseUtil.build(AppConstant.ResponseCode.SERVICE_BUSY, null, HttpStatus.SERVICE_UNAVAILABLE).getBody());
     }
 
     public ResponseEntity<Object> deleteBook(Long bookId) {
@@ -70,19 +156,41 @@ public class BookService {
             bookRepository.delete(bookId);
         } catch (EmptyResultDataAccessException e) {
             log.error("Data not found. Error: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(Map.ofEntries(Map.entry("message", "Data not found")));
+            return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
+        }
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, null, HttpStatus.OK);
+    }
+
+    /**
+     * Restores the book together with its detail. Restoring fails with {@code 409} when a live book of the same
+     * author has taken the title in the meantime, a failure leaves both rows deleted.
+     */
+    @Transactional
+    public ResponseEntity<Object> restoreBook(Long bookId) {
+        log.info("Restore book by book id: {}", bookId);
+        try {
+            bookRepository.restore(bookId);
+            bookDetailRepository.restore(bookId);
+        } catch (EmptyResultDataAccessException e) {
+            log.error("Data not found. Error: {}", e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Duplicate book. Error: {}", e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseUtil.build(AppConstant.ResponseCode.DUPLICATE_DATA, null, HttpStatus.CONFLICT);
         }
-        return ResponseEntity.ok().body(Map.ofEntries(Map.entry("message", "ok")));
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, null, HttpStatus.OK);
     }
 
     public ResponseEntity<Object> updatePrice(BookRequest request, Long bookId) {
         log.info("Update price: {}", request);
         Optional<Book> book = bookRepository.findOne(bookId);
-        if (book.isEmpty()) return ResponseEntity.badRequest().body(Map.ofEntries(Map.entry("message", "Data not found")));
+        if (book.isEmpty()) return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
 
         book.get().setPrice(request.getPrice());
         bookRepository.save(book.get());
-        return ResponseEntity.ok().body(book.get());
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, book.get(), HttpStatus.OK);
     }
 
 }
@@ -0,0 +1,41 @@
+package com.piinalpin.customsoftdeletes.service;
+
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.piinalpin.customsoftdeletes.entity.Author;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.entity.BookDetail;
+import com.piinalpin.customsoftdeletes.repository.BookCatalogueRepository;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.ChangeWatermark;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+@Slf4j
+@Service
+public class CatalogueService {
+
+    private final BookCatalogueRepository bookCatalogueRepository;
+    private final ChangeWatermark changeWatermark;
+
+    @Autowired
+    public CatalogueService(BookCatalogueRepository bookCatalogueRepository, ChangeWatermark changeWatermark) {
+        this.bookCatalogueRepository = bookCatalogueRepository;
+        this.changeWatermark = changeWatermark;
+    }
+
+    public ResponseEntity<Object> getCatalogue(Pageable pageable, WebRequest webRequest) {
+        log.info("Get catalogue page: {}", pageable);
+        ChangeWatermark.Watermark watermark = changeWatermark.table(Book.class, Author.class, BookDetail.class);
+        if (webRequest.checkNotModified(watermark.getEtag(), watermark.getLastModified())) return null;
+
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                bookCatalogueRepository.findAllByTenantId(TenantContext.currentTenant(), pageable), HttpStatus.OK);
+    }
+
+}
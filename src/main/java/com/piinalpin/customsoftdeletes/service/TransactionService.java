@@ -1,22 +1,50 @@
 package com.piinalpin.customsoftdeletes.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.config.AsyncTimeoutConfig;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
 import com.piinalpin.customsoftdeletes.entity.Book;
 import com.piinalpin.customsoftdeletes.entity.Transaction;
 import com.piinalpin.customsoftdeletes.entity.TransactionDetail;
+import com.piinalpin.customsoftdeletes.export.ExportFiles;
+import com.piinalpin.customsoftdeletes.export.ExportFormat;
+import com.piinalpin.customsoftdeletes.export.TransactionExporter;
 import com.piinalpin.customsoftdeletes.http.dto.TransactionDetailRequest;
 import com.piinalpin.customsoftdeletes.http.dto.TransactionRequest;
+import com.piinalpin.customsoftdeletes.partition.PartitionKey;
 import com.piinalpin.customsoftdeletes.repository.BookRepository;
 import com.piinalpin.customsoftdeletes.repository.TransactionDetailRepository;
 import com.piinalpin.customsoftdeletes.repository.TransactionRepository;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,43 +53,161 @@ public class TransactionService {
     private final BookRepository bookRepository;
     private final TransactionRepository transactionRepository;
     private final TransactionDetailRepository transactionDetailRepository;
+    private final AppClock appClock;
+    private final TransactionExporter transactionExporter;
+    private final ExportFiles exportFiles;
+    private final ObjectMapper objectMapper;
+    private final long exportTimeoutMillis;
 
     @Autowired
     public TransactionService(BookRepository bookRepository, TransactionRepository transactionRepository,
-                              TransactionDetailRepository transactionDetailRepository) {
+                              TransactionDetailRepository transactionDetailRepository, AppClock appClock,
+                              TransactionExporter transactionExporter, ExportFiles exportFiles,
+                              ObjectMapper objectMapper,
+                              @Value("${app.export.request-timeout-ms:600000}") long exportTimeoutMillis) {
         this.bookRepository = bookRepository;
         this.transactionRepository = transactionRepository;
         this.transactionDetailRepository = transactionDetailRepository;
+        this.appClock = appClock;
+        this.transactionExporter = transactionExporter;
+        this.exportFiles = exportFiles;
+        this.objectMapper = objectMapper;
+        this.exportTimeoutMillis = exportTimeoutMillis;
     }
 
     public ResponseEntity<Object> createTransaction(TransactionRequest request) {
         Transaction transaction = Transaction.builder()
-                .transactionDate(LocalDateTime.now())
+                .transactionDate(appClock.nowUtc())
                 .customerName(request.getCustomerName())
                 .build();
+        Set<Long> bookIds = request.getDetails().stream()
+                .map(TransactionDetailRequest::getBookId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        log.info("Find books by bookIds: {}", bookIds);
+        if (bookIds.contains(null)) return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
+        Map<Long, Book> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        if (!books.keySet().containsAll(bookIds)) {
+            bookIds.removeAll(books.keySet());
+            log.info("Books not found: {}", bookIds);
+            return ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, bookIds, HttpStatus.BAD_REQUEST);
+        }
+
         List<TransactionDetail> details = new ArrayList<>();
         for (TransactionDetailRequest detailRequest : request.getDetails()) {
-            log.info("Find book by bookId");
-            Optional<Book> book = bookRepository.findOne(detailRequest.getBookId());
-            if (book.isPresent()) {
-                Integer price = book.get().getPrice() * detailRequest.getQty();
-                details.add(TransactionDetail.builder()
-                        .transaction(transaction)
-                        .book(book.get())
-                        .price(price)
-                        .qty(detailRequest.getQty())
-                        .build());
-            }
+            Book book = books.get(detailRequest.getBookId());
+            Integer price = book.getPrice() * detailRequest.getQty();
+            details.add(TransactionDetail.builder()
+                    .transaction(transaction)
+                    .book(book)
+                    .price(price)
+                    .qty(detailRequest.getQty())
+                    .build());
         }
         transaction.setTotalPrice(details.stream().mapToInt(TransactionDetail::getPrice).sum());
         transaction.setTotalQty(details.stream().mapToInt(TransactionDetail::getQty).sum());
         transaction.setTransactionDetails(details);
         transactionRepository.save(transaction);
-        return ResponseEntity.ok().body(transaction);
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, transaction, HttpStatus.OK);
     }
 
     public ResponseEntity<Object> getTransactionDetails(Long transactionId) {
-        return ResponseEntity.ok().body(transactionDetailRepository.findAllByTransactionId(transactionId));
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                transactionDetailRepository.findAllByTenantIdAndTransactionId(TenantContext.currentTenant(), transactionId), HttpStatus.OK);
+    }
+
+    public ResponseEntity<Object> getTransactionDetails(List<Long> transactionIds) {
+        log.info("Find transaction details by transaction ids: {}", transactionIds);
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                transactionDetailRepository.findAllByTenantIdAndTransactionIdIn(TenantContext.currentTenant(), transactionIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(detail -> detail.getTransaction().getId(), LinkedHashMap::new,
+                                Collectors.toList())), HttpStatus.OK);
+    }
+
+    public ResponseEntity<Object> getTransactions(LocalDateTime from, LocalDateTime to) {
+        log.info("Find transactions between {} and {}", from, to);
+        if (!from.isBefore(to)) return ResponseUtil.build(AppConstant.ResponseCode.UNKNOWN_ERROR, null, HttpStatus.BAD_REQUEST);
+
+        return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                transactionRepository.findAllInRange(TenantContext.currentTenant(),
+                        PartitionKey.of(from), PartitionKey.ofExclusiveEnd(to), from, to), HttpStatus.OK);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportTransactions(LocalDateTime from, LocalDateTime to,
+                                                                    String format, boolean gzip) {
+        log.info("Export transactions between {} and {} as {}", from, to, format);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null || !from.isBefore(to))
+            return json(ResponseUtil.build(AppConstant.ResponseCode.UNKNOWN_ERROR, null, HttpStatus.BAD_REQUEST));
+
+        String tenantId = TenantContext.currentTenant();
+        String fileName = "transactions." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        AsyncTimeoutConfig.setRequestTimeout(exportTimeoutMillis);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> transactionExporter.export(tenantId, from, to, exportFormat, gzip, out));
+    }
+
+    public ResponseEntity<Object> exportTransactionsToFile(LocalDateTime from, LocalDateTime to, String format,
+                                                           boolean gzip) {
+        log.info("Export transactions between {} and {} as {} to file", from, to, format);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null || !from.isBefore(to))
+            return ResponseUtil.build(AppConstant.ResponseCode.UNKNOWN_ERROR, null, HttpStatus.BAD_REQUEST);
+
+        try {
+            String fileId = exportFiles.submit(TenantContext.currentTenant(), from, to, exportFormat, gzip);
+            return ResponseUtil.build(AppConstant.ResponseCode.SUCCESS, Collections.singletonMap("id", fileId),
+                    HttpStatus.ACCEPTED);
+        } catch (RejectedExecutionException e) {
+            log.warn("Export queue is full. Error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ResponseUtil.build(AppConstant.ResponseCode.SERVICE_BUSY, null, HttpStatus.SERVICE_UNAVAILABLE).getBody());
+        }
+    }
+
+    public ResponseEntity<StreamingResponseBody> getExportFile(String fileId) {
+        log.info("Find export file: {}", fileId);
+        Optional<ExportFiles.ExportFile> exportFile = exportFiles.find(TenantContext.currentTenant(), fileId);
+        if (exportFile.isEmpty())
+            return json(ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.NOT_FOUND));
+        switch (exportFile.get().getStatus()) {
+            case PENDING:
+                return json(ResponseUtil.build(AppConstant.ResponseCode.SUCCESS,
+                        Collections.singletonMap("status", ExportFiles.ExportFile.Status.PENDING), HttpStatus.ACCEPTED));
+            case FAILED:
+                return json(ResponseUtil.build(AppConstant.ResponseCode.UNKNOWN_ERROR, null, HttpStatus.INTERNAL_SERVER_ERROR));
+            default:
+                break;
+        }
+
+        InputStream in;
+        try {
+            in = Files.newInputStream(exportFile.get().getPath());
+        } catch (IOException e) {
+            log.info("Export file {} is gone. Error: {}", fileId, e.getMessage());
+            return json(ResponseUtil.build(AppConstant.ResponseCode.DATA_NOT_FOUND, null, HttpStatus.NOT_FOUND));
+        }
+        String fileName = "transactions" + exportFile.get().getPath().getFileName().toString().substring(fileId.length());
+        AsyncTimeoutConfig.setRequestTimeout(exportTimeoutMillis);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFile.get().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> {
+                    try (InputStream file = in) {
+                        file.transferTo(out);
+                    }
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> json(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        return ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, body));
     }
 
 }
@@ -0,0 +1,91 @@
+package com.piinalpin.customsoftdeletes.telemetry;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live connection pool and Hibernate session statistics, exposed at {@code /actuator/persistence}.
+ * Session statistics require {@code app.telemetry.hibernate-statistics=true}.
+ */
+@Component
+@Endpoint(id = "persistence")
+public class PersistenceEndpoint {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public PersistenceEndpoint(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                               MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> persistence() throws SQLException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pool", pool());
+        result.put("session", session());
+        return result;
+    }
+
+    private Map<String, Object> pool() throws SQLException {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) return pool;
+
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        pool.put("maximum_pool_size", hikari.getMaximumPoolSize());
+        HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+        if (mxBean != null) {
+            pool.put("active_connections", mxBean.getActiveConnections());
+            pool.put("idle_connections", mxBean.getIdleConnections());
+            pool.put("total_connections", mxBean.getTotalConnections());
+            pool.put("threads_awaiting_connection", mxBean.getThreadsAwaitingConnection());
+        }
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            pool.put("acquire_count", acquire.count());
+            pool.put("acquire_mean_ms", acquire.mean(TimeUnit.MILLISECONDS));
+            pool.put("acquire_max_ms", acquire.max(TimeUnit.MILLISECONDS));
+        }
+        return pool;
+    }
+
+    private Map<String, Object> session() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long sessions = statistics.getSessionOpenCount();
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("statistics_enabled", statistics.isStatisticsEnabled());
+        session.put("sessions_opened", sessions);
+        session.put("sessions_closed", statistics.getSessionCloseCount());
+        session.put("statements_prepared", statistics.getPrepareStatementCount());
+        session.put("statements_per_session", sessions == 0 ? 0 : (double) statistics.getPrepareStatementCount() / sessions);
+        session.put("queries_executed", statistics.getQueryExecutionCount());
+        session.put("query_max_time_ms", statistics.getQueryExecutionMaxTime());
+        session.put("entities_loaded", statistics.getEntityLoadCount());
+        session.put("collections_fetched", statistics.getCollectionFetchCount());
+        session.put("flushes", statistics.getFlushCount());
+        session.put("transactions", statistics.getTransactionCount());
+        return session;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.piinalpin.customsoftdeletes.tenant;
+
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the tenant of the current request thread. Falls back to {@link AppConstant#DEFAULT_TENANT}
+ * for work that does not originate from an HTTP request.
+ */
+public class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> UNSCOPED = new ThreadLocal<>();
+
+    private TenantContext() {}
+
+    public static String currentTenant() {
+        String tenant = CURRENT_TENANT.get();
+        return tenant == null ? AppConstant.DEFAULT_TENANT : tenant;
+    }
+
+    public static void setCurrentTenant(String tenant) {
+        CURRENT_TENANT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+
+    public static boolean isUnscoped() {
+        return Boolean.TRUE.equals(UNSCOPED.get());
+    }
+
+    /**
+     * Carries the caller's tenant scope over to a task that runs on another thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        String tenant = CURRENT_TENANT.get();
+        boolean unscoped = isUnscoped();
+        return () -> {
+            CURRENT_TENANT.set(tenant);
+            if (unscoped) UNSCOPED.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                CURRENT_TENANT.remove();
+                UNSCOPED.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs maintenance work, such as rebuilding in-memory indexes, across every tenant.
+     */
+    public static <R> R unscoped(Supplier<R> action) {
+        Boolean previous = UNSCOPED.get();
+        UNSCOPED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) UNSCOPED.remove();
+            else UNSCOPED.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.piinalpin.customsoftdeletes.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.piinalpin.customsoftdeletes.constant.AppConstant;
+import com.piinalpin.customsoftdeletes.util.ResponseUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Scopes the request to the tenant named by {@code X-Tenant-Id}. The header is not authenticated, so only tenants
+ * listed in {@code app.tenant.allowed} are accepted, any other value is rejected with {@code 403}.
+ */
+@Slf4j
+@Component
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> allowedTenants;
+
+    @Autowired
+    public TenantFilter(ObjectMapper objectMapper,
+                        @Value("${app.tenant.allowed:" + AppConstant.DEFAULT_TENANT + "}") Set<String> allowedTenants) {
+        this.objectMapper = objectMapper;
+        this.allowedTenants = allowedTenants;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenant = request.getHeader(AppConstant.TENANT_HEADER);
+        if (StringUtils.hasText(tenant)) {
+            if (!allowedTenants.contains(tenant.trim())) {
+                log.warn("Rejected request for unknown tenant: {}", tenant);
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(),
+                        ResponseUtil.build(AppConstant.ResponseCode.ACCESS_DENIED, null, HttpStatus.FORBIDDEN).getBody());
+                return;
+            }
+            TenantContext.setCurrentTenant(tenant.trim());
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+}
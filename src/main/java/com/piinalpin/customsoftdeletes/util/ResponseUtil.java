@@ -1,7 +1,5 @@
 package com.piinalpin.customsoftdeletes.util;
 
-import java.time.LocalDateTime;
-
 import com.piinalpin.customsoftdeletes.constant.AppConstant;
 import com.piinalpin.customsoftdeletes.http.dto.base.BaseResponse;
 
@@ -18,8 +16,7 @@ public class ResponseUtil {
 
     private static <T> BaseResponse<T> build(AppConstant.ResponseCode responseCode, T data) {
         return BaseResponse.<T>builder()
-                .timestamp(LocalDateTime.now())
-                .responseCode(responseCode.name())
+                .responseCode(responseCode)
                 .message(responseCode.getMessage())
                 .data(data)
                 .build();
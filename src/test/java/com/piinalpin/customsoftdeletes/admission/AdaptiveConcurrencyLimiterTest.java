@@ -0,0 +1,67 @@
+package com.piinalpin.customsoftdeletes.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET_NANOS = 1_000_000;
+    private static final long FAST = TARGET_NANOS / 2;
+    private static final long SLOW = TARGET_NANOS * 2;
+
+    @Test
+    void rejectsAboveTheLimitUntilAPermitIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_NANOS);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(FAST, true);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsByOnePermitPerLimitOfFastCompletions() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, TARGET_NANOS);
+
+        for (int i = 0; i < 4; i++) complete(limiter, FAST, true);
+        assertEquals(4, limiter.getLimit());
+
+        complete(limiter, FAST, true);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffOnSlowOrFailedCompletions() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, TARGET_NANOS);
+
+        complete(limiter, SLOW, true);
+        assertEquals(9, limiter.getLimit());
+
+        complete(limiter, FAST, false);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 2, 5, TARGET_NANOS);
+
+        for (int i = 0; i < 100; i++) complete(limiter, SLOW, true);
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 1000; i++) complete(limiter, FAST, true);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, long repositoryNanos, boolean success) {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(repositoryNanos, success);
+    }
+
+}
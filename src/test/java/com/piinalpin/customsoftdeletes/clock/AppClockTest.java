@@ -0,0 +1,87 @@
+package com.piinalpin.customsoftdeletes.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AppClockTest {
+
+    private static final Instant START = Instant.parse("2022-03-01T12:00:00Z");
+
+    private final MutableClock source = new MutableClock(START);
+
+    @Test
+    void pinnedTimeStaysUntilUnpinned() {
+        AppClock appClock = new AppClock(source);
+
+        assertEquals(START, appClock.pin());
+        source.advance(5);
+        assertEquals(START, appClock.now());
+
+        appClock.unpin();
+        assertEquals(START.plusSeconds(5), appClock.now());
+    }
+
+    @Test
+    void pinningOneClockLeavesOtherClocksRunning() {
+        AppClock pinned = new AppClock(source);
+        AppClock other = new AppClock(source);
+
+        pinned.pin();
+        source.advance(5);
+
+        assertEquals(START, pinned.now());
+        assertEquals(START.plusSeconds(5), other.now());
+        pinned.unpin();
+    }
+
+    @Test
+    void pinningIsPerThread() throws Exception {
+        AppClock appClock = new AppClock(source);
+
+        appClock.pin();
+        source.advance(5);
+
+        assertEquals(START.plusSeconds(5), CompletableFuture.supplyAsync(appClock::now).get(5, TimeUnit.SECONDS));
+        assertEquals(START, appClock.now());
+        appClock.unpin();
+    }
+
+    static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(long seconds) {
+            instant = instant.plus(seconds, ChronoUnit.SECONDS);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.piinalpin.customsoftdeletes.entity.base;
+
+import com.piinalpin.customsoftdeletes.audit.AuditTrail;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.repository.softdeletes.SoftDeletesRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimestampsTest {
+
+    private static final LocalDateTime FROZEN = LocalDateTime.of(2022, 3, 1, 12, 0);
+
+    private final AppClock appClock = AppClock.fixed(FROZEN.toInstant(ZoneOffset.UTC));
+
+    @Test
+    void createdAtAndUpdatedAtUseTheFrozenTime() {
+        TimestampEntityListener listener = new TimestampEntityListener(appClock);
+        Book book = Book.builder().id(1L).title("Frozen").build();
+
+        listener.onCreate(book);
+        listener.onUpdate(book);
+
+        assertEquals(FROZEN, book.getCreatedAt());
+        assertEquals(FROZEN, book.getUpdatedAt());
+    }
+
+    @Test
+    void deletedAtUsesTheFrozenTime() {
+        List<Object[]> assignments = new ArrayList<>();
+        EntityManager em = stub(EntityManager.class, assignments);
+        SoftDeletesRepositoryImpl<Book, Long> repository = new SoftDeletesRepositoryImpl<>(bookInformation(), em,
+                new AuditTrail(appClock, 16), appClock, stub(ObjectProvider.class, assignments),
+                stub(ObjectProvider.class, assignments), 0);
+
+        repository.delete(Book.builder().id(1L).title("Frozen").build());
+
+        assertEquals(Optional.of(FROZEN), assignments.stream()
+                .filter(args -> "deletedAt".equals(args[0]))
+                .map(args -> args[1])
+                .findFirst());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JpaEntityInformation<Book, Long> bookInformation() {
+        return (JpaEntityInformation<Book, Long>) Proxy.newProxyInstance(TimestampsTest.class.getClassLoader(),
+                new Class<?>[]{JpaEntityInformation.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getJavaType":
+                            return Book.class;
+                        case "getId":
+                            return ((Book) args[0]).getId();
+                        case "hasCompositeId":
+                            return false;
+                        default:
+                            return answer(method.getReturnType(), null);
+                    }
+                });
+    }
+
+    /**
+     * Stand-in for the JPA criteria API, records the arguments of every {@code set(String, Object)} call.
+     */
+    @SuppressWarnings("unchecked")
+    private static <S> S stub(Class<S> type, List<Object[]> assignments) {
+        return (S) Proxy.newProxyInstance(TimestampsTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("set") && args.length == 2 && args[0] instanceof String)
+                        assignments.add(args);
+                    if (method.getName().equals("getDelegate")) return new Object();
+                    return answer(method.getReturnType(), assignments);
+                });
+    }
+
+    private static Object answer(Class<?> type, List<Object[]> assignments) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == String.class) return "";
+        if (type == Stream.class) return Stream.empty();
+        if (type == List.class) return Collections.emptyList();
+        if (type == Optional.class) return Optional.empty();
+        if (type.isInterface())
+            return stub(type, assignments == null ? new ArrayList<>() : assignments);
+        return null;
+    }
+
+}
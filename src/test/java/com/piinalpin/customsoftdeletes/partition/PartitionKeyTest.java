@@ -0,0 +1,45 @@
+package com.piinalpin.customsoftdeletes.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PartitionKeyTest {
+
+    @Test
+    void keyIsYearAndMonth() {
+        assertEquals(202203, PartitionKey.of(LocalDateTime.of(2022, 3, 31, 23, 59, 59)));
+        assertEquals(202204, PartitionKey.of(LocalDateTime.of(2022, 4, 1, 0, 0)));
+        assertEquals(YearMonth.of(2022, 12), PartitionKey.toYearMonth(202212));
+    }
+
+    @Test
+    void rangeEndingAtAMonthStartDoesNotScanThatMonth() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 4, 1, 0, 0);
+
+        assertEquals(202203, PartitionKey.of(from));
+        assertEquals(202203, PartitionKey.ofExclusiveEnd(to));
+    }
+
+    @Test
+    void rangeEndingWithinAMonthScansThatMonth() {
+        LocalDateTime to = LocalDateTime.of(2022, 4, 1, 0, 0, 0, 1);
+
+        assertEquals(202204, PartitionKey.ofExclusiveEnd(to));
+    }
+
+    @Test
+    void rangeAcrossNewYearCoversBothMonths() {
+        LocalDateTime from = LocalDateTime.of(2022, 12, 15, 8, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 1, 15, 8, 0);
+
+        assertEquals(202212, PartitionKey.of(from));
+        assertEquals(202301, PartitionKey.ofExclusiveEnd(to));
+        assertEquals(YearMonth.of(2023, 1), PartitionKey.toYearMonth(PartitionKey.ofExclusiveEnd(to)));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.piinalpin.customsoftdeletes.partition;
+
+import com.piinalpin.customsoftdeletes.audit.AuditTrail;
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionArchiverTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:archiver;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE T_TRANSACTION (id BIGINT PRIMARY KEY, tenant_id VARCHAR(64), " +
+                "customer_name VARCHAR(255), transaction_date TIMESTAMP, partition_key INT)");
+        jdbcTemplate.execute("CREATE TABLE T_TRANSACTION_DETAIL (transaction_id BIGINT, book_id BIGINT, " +
+                "tenant_id VARCHAR(64), qty INT, partition_key INT, PRIMARY KEY (transaction_id, book_id))");
+        jdbcTemplate.execute("CREATE TABLE T_OUTBOX (id BIGINT AUTO_INCREMENT PRIMARY KEY, tenant_id VARCHAR(64), " +
+                "aggregate_type VARCHAR(255), aggregate_id VARCHAR(255), change_type VARCHAR(16), payload CLOB, " +
+                "created_at TIMESTAMP, dispatched_at TIMESTAMP)");
+        AppClock appClock = AppClock.system();
+        archiver = new TransactionArchiver(jdbcTemplate, new DataSourceTransactionManager(dataSource), appClock,
+                new AuditTrail(appClock, 16), 0, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void archiveMovesTheMonthInChunksAndLeavesOtherMonths() {
+        insertTransaction(1, "a", LocalDateTime.of(2022, 1, 3, 10, 0));
+        insertTransaction(2, "b", LocalDateTime.of(2022, 1, 15, 10, 0));
+        insertTransaction(3, "a", LocalDateTime.of(2022, 1, 31, 23, 59));
+        insertTransaction(4, "a", LocalDateTime.of(2022, 2, 1, 0, 0));
+
+        archiver.archive(202201);
+
+        assertEquals(List.of(4L), ids("SELECT id FROM T_TRANSACTION"));
+        assertEquals(List.of(1L, 2L, 3L), ids("SELECT id FROM T_TRANSACTION_ARCHIVE ORDER BY id"));
+        assertEquals(List.of(4L), ids("SELECT transaction_id FROM T_TRANSACTION_DETAIL"));
+        assertEquals(List.of(1L, 2L, 3L), ids("SELECT transaction_id FROM T_TRANSACTION_DETAIL_ARCHIVE ORDER BY 1"));
+    }
+
+    @Test
+    void archiveWritesAnOutboxRowPerTransactionInItsTenant() {
+        insertTransaction(1, "a", LocalDateTime.of(2022, 1, 3, 10, 0));
+        insertTransaction(2, "b", LocalDateTime.of(2022, 1, 15, 10, 0));
+        insertTransaction(3, "a", LocalDateTime.of(2022, 1, 31, 23, 59));
+
+        archiver.archive(202201);
+
+        assertEquals(List.of("a:1", "b:2", "a:3"), jdbcTemplate.queryForList(
+                "SELECT tenant_id || ':' || aggregate_id FROM T_OUTBOX " +
+                        "WHERE aggregate_type = 'Transaction' AND change_type = 'ARCHIVED' ORDER BY id", String.class));
+    }
+
+    @Test
+    void archiveBeforeOnlyTakesOlderMonths() {
+        insertTransaction(1, "a", LocalDateTime.of(2021, 12, 31, 23, 59));
+        insertTransaction(2, "a", LocalDateTime.of(2022, 1, 1, 0, 0));
+
+        archiver.archiveBefore(YearMonth.of(2022, 1));
+
+        assertEquals(List.of(2L), ids("SELECT id FROM T_TRANSACTION"));
+        assertEquals(List.of(1L), ids("SELECT id FROM T_TRANSACTION_ARCHIVE"));
+    }
+
+    @Test
+    void archiveTableMissingALiveColumnStopsBeforeMovingRows() {
+        jdbcTemplate.execute("CREATE TABLE T_TRANSACTION_ARCHIVE (id BIGINT, tenant_id VARCHAR(64), " +
+                "transaction_date TIMESTAMP, partition_key INT)");
+        insertTransaction(1, "a", LocalDateTime.of(2022, 1, 3, 10, 0));
+
+        assertThrows(IllegalStateException.class, () -> archiver.archive(202201));
+        assertEquals(List.of(1L), ids("SELECT id FROM T_TRANSACTION"));
+        assertEquals(List.of(1L), ids("SELECT transaction_id FROM T_TRANSACTION_DETAIL"));
+    }
+
+    private void insertTransaction(long id, String tenantId, LocalDateTime date) {
+        int partitionKey = PartitionKey.of(date);
+        jdbcTemplate.update("INSERT INTO T_TRANSACTION VALUES (?, ?, ?, ?, ?)",
+                id, tenantId, "customer " + id, date, partitionKey);
+        jdbcTemplate.update("INSERT INTO T_TRANSACTION_DETAIL VALUES (?, ?, ?, ?, ?)",
+                id, 10L, tenantId, 1, partitionKey);
+    }
+
+    private List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.clock.AppClock;
+import com.piinalpin.customsoftdeletes.entity.Author;
+import com.piinalpin.customsoftdeletes.entity.Book;
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeWatermarkTest {
+
+    private static final Instant NOW = Instant.parse("2022-03-01T12:00:00Z");
+
+    private final ChangeWatermark watermark = new ChangeWatermark(AppClock.fixed(NOW), null);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TenantContext.clear();
+    }
+
+    @Test
+    void changesWithinTheSameMillisecondGetDifferentTags() {
+        String before = watermark.table(Book.class).getEtag();
+
+        watermark.afterSave(Book.class, 1L, null);
+        String first = watermark.table(Book.class).getEtag();
+        watermark.afterSave(Book.class, 1L, null);
+        String second = watermark.table(Book.class).getEtag();
+
+        assertNotEquals(before, first);
+        assertNotEquals(first, second);
+        assertEquals(NOW.toEpochMilli(), watermark.table(Book.class).getLastModified());
+    }
+
+    @Test
+    void updatingARowMovesItsRowAndTableTags() {
+        watermark.afterSave(Book.class, 1L, null);
+        ChangeWatermark.Watermark row = watermark.row(1L, Book.class);
+        ChangeWatermark.Watermark otherRow = watermark.row(2L, Book.class);
+        ChangeWatermark.Watermark table = watermark.table(Book.class, Author.class);
+
+        watermark.afterSave(Book.class, 1L, null);
+
+        assertNotEquals(row, watermark.row(1L, Book.class));
+        assertEquals(otherRow, watermark.row(2L, Book.class));
+        assertNotEquals(table, watermark.table(Book.class, Author.class));
+    }
+
+    @Test
+    void movesOnlyOnceTheWriteCommits() {
+        ChangeWatermark.Watermark before = watermark.table(Book.class);
+        TransactionSynchronizationManager.initSynchronization();
+
+        watermark.afterSoftDelete(Book.class, 1L);
+        assertEquals(before, watermark.table(Book.class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(before, watermark.table(Book.class));
+    }
+
+    @Test
+    void rolledBackWritesKeepTheTag() {
+        ChangeWatermark.Watermark before = watermark.table(Book.class);
+        TransactionSynchronizationManager.initSynchronization();
+
+        watermark.afterHardDelete(Book.class, 1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(before, watermark.table(Book.class));
+    }
+
+    @Test
+    void tagsDifferPerTenant() {
+        String defaultTenant = watermark.table(Book.class).getEtag();
+        TenantContext.setCurrentTenant("other");
+
+        assertTrue(watermark.table(Book.class).getEtag().startsWith("\"other-"));
+        assertNotEquals(defaultTenant, watermark.table(Book.class).getEtag());
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.piinalpin.customsoftdeletes.repository.softdeletes;
+
+import com.piinalpin.customsoftdeletes.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FindOneCoalescerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+    private final CountDownLatch queryStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseQuery = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseQuery.countDown();
+        executor.shutdownNow();
+        TenantContext.clear();
+    }
+
+    @Test
+    void concurrentLookupsOfTheSameIdShareOneQuery() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(this::blockingLoad, 0);
+
+        CompletableFuture<Optional<Row>> first = findOne(coalescer, 1L);
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Row>> second = findOne(coalescer, 1L);
+        awaitWaiting(second);
+        releaseQuery.countDown();
+
+        assertEquals(Optional.of(1L), first.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(Optional.of(1L), second.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(1, queries.size());
+        assertNotSame(first.get().get(), second.get().get());
+    }
+
+    @Test
+    void lookupsInDifferentTenantsDoNotShareAQuery() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(this::blockingLoad, 0);
+
+        CompletableFuture<Optional<Row>> first = findOne(coalescer, 1L);
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        TenantContext.setCurrentTenant("other");
+        Optional<Row> second = coalescer.findOne(1L);
+        releaseQuery.countDown();
+
+        assertTrue(second.isPresent());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void invalidateMakesLaterLookupsQueryAgain() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(this::blockingLoad, 0);
+
+        CompletableFuture<Optional<Row>> first = findOne(coalescer, 1L);
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        coalescer.invalidate(1L);
+        Optional<Row> second = coalescer.findOne(1L);
+        releaseQuery.countDown();
+
+        assertTrue(second.isPresent());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void batchWindowMergesDifferentIdsIntoOneQuery() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(this::load, 500);
+
+        CompletableFuture<Optional<Row>> first = findOne(coalescer, 1L);
+        CompletableFuture<Optional<Row>> second = findOne(coalescer, 2L);
+        CompletableFuture<Optional<Row>> missing = findOne(coalescer, 3L);
+
+        assertEquals(Optional.of(1L), first.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(Optional.of(2L), second.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertFalse(missing.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, queries.size());
+        List<Long> ids = new ArrayList<>(queries.get(0));
+        Collections.sort(ids);
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    void invalidateWithinAnOpenBatchWindowKeepsEveryWaiter() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(this::load, 500);
+
+        CompletableFuture<Optional<Row>> leader = findOne(coalescer, 1L);
+        TimeUnit.MILLISECONDS.sleep(50);
+        CompletableFuture<Optional<Row>> waiter = findOne(coalescer, 1L);
+        TimeUnit.MILLISECONDS.sleep(50);
+        coalescer.invalidate(1L);
+        CompletableFuture<Optional<Row>> rejoined = findOne(coalescer, 1L);
+        CompletableFuture<Optional<Row>> later = findOne(coalescer, 1L);
+
+        assertEquals(Optional.of(1L), leader.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(Optional.of(1L), waiter.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(Optional.of(1L), rejoined.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(Optional.of(1L), later.get(5, TimeUnit.SECONDS).map(Row::getId));
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void failedQueryReachesEveryCallerAndIsNotCached() throws Exception {
+        FindOneCoalescer<Row, Long> coalescer = coalescer(ids -> {
+            List<Row> rows = blockingLoad(ids);
+            if (queries.size() == 1) throw new IllegalStateException("connection lost");
+            return rows;
+        }, 0);
+
+        CompletableFuture<Optional<Row>> first = findOne(coalescer, 1L);
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Row>> second = findOne(coalescer, 1L);
+        awaitWaiting(second);
+        releaseQuery.countDown();
+
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(coalescer.findOne(1L).isPresent());
+        assertEquals(2, queries.size());
+    }
+
+    private FindOneCoalescer<Row, Long> coalescer(Function<List<Long>, List<Row>> loader, long windowMillis) {
+        return new FindOneCoalescer<>(loader, Row::getId, row -> new Row(row.getId()), windowMillis);
+    }
+
+    private CompletableFuture<Optional<Row>> findOne(FindOneCoalescer<Row, Long> coalescer, Long id) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return coalescer.findOne(id);
+            } finally {
+                TenantContext.clear();
+            }
+        }, executor);
+    }
+
+    private List<Row> load(List<Long> ids) {
+        queries.add(ids);
+        return ids.stream().filter(id -> id < 3).map(Row::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Holds the first query until released, later ones answer right away.
+     */
+    private List<Row> blockingLoad(List<Long> ids) {
+        List<Row> rows = load(ids);
+        if (queries.size() > 1) return rows;
+        queryStarted.countDown();
+        try {
+            if (!releaseQuery.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("query never released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return rows;
+    }
+
+    /**
+     * Gives a second caller time to reach the in-flight lookup. A caller running its own query would not block.
+     */
+    private static void awaitWaiting(CompletableFuture<?> future) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertFalse(future.isDone());
+    }
+
+    static final class Row {
+
+        private final Long id;
+
+        Row(Long id) {
+            this.id = id;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+    }
+
+}